@@ -0,0 +1,57 @@
+package org.mage.benchmark;
+
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.Game;
+import mage.players.Player;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Reproducible board used by the benchmarks, built with the test API of
+ * Mage.Tests. The game is stopped in the precombat main phase of turn 3 with
+ * creatures, a static effect and castable spells on both sides.
+ *
+ * Like the tests, it expects to be run from the Mage.Tests directory (decks
+ * and config are loaded relative to it).
+ */
+public class BoardFixture extends CardTestPlayerBase {
+
+    public static Game createMidgameBoard() throws Exception {
+        BoardFixture fixture = new BoardFixture();
+        init();
+        fixture.reset();
+        fixture.setUpBoard();
+        fixture.setStopAt(3, PhaseStep.PRECOMBAT_MAIN);
+        fixture.execute();
+        return currentGame;
+    }
+
+    private void setUpBoard() {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Plains", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Grizzly Bears", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Llanowar Elves");
+        addCard(Zone.BATTLEFIELD, playerA, "Hill Giant");
+        addCard(Zone.BATTLEFIELD, playerA, "Serra Angel");
+        addCard(Zone.BATTLEFIELD, playerA, "Glorious Anthem");
+        addCard(Zone.HAND, playerA, "Lightning Bolt");
+        addCard(Zone.HAND, playerA, "Giant Growth");
+        addCard(Zone.HAND, playerA, "Shock");
+        addCard(Zone.HAND, playerA, "Craw Wurm");
+
+        addCard(Zone.BATTLEFIELD, playerB, "Island", 4);
+        addCard(Zone.BATTLEFIELD, playerB, "Swamp", 4);
+        addCard(Zone.BATTLEFIELD, playerB, "Sengir Vampire");
+        addCard(Zone.BATTLEFIELD, playerB, "Air Elemental");
+        addCard(Zone.BATTLEFIELD, playerB, "Drudge Skeletons", 2);
+        addCard(Zone.BATTLEFIELD, playerB, "Bad Moon");
+        addCard(Zone.HAND, playerB, "Counterspell");
+        addCard(Zone.HAND, playerB, "Doom Blade");
+        addCard(Zone.HAND, playerB, "Divination");
+    }
+
+    public static Player getActivePlayer(Game game) {
+        return game.getPlayer(game.getActivePlayerId());
+    }
+}
@@ -0,0 +1,62 @@
+package org.mage.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mage.game.Game;
+import mage.players.Player;
+import mage.remote.traffic.CompressionCodec;
+import mage.remote.traffic.DeflateCodec;
+import mage.remote.traffic.NoCompressionCodec;
+import mage.remote.traffic.ZippedObjectImpl;
+import mage.view.GameView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the codecs and deflate levels for the {@link GameView} sent with
+ * every game update, the compressed size is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"none", "1", "3", "6", "9"})
+    private String codecName;
+
+    private CompressionCodec codec;
+    private GameView gameView;
+    private ZippedObjectImpl<GameView> compressedView;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Game game = BoardFixture.createMidgameBoard();
+        Player player = BoardFixture.getActivePlayer(game);
+        gameView = new GameView(game.getState(), game, player.getId(), null);
+        codec = "none".equals(codecName) ? NoCompressionCodec.instance : new DeflateCodec(Integer.parseInt(codecName));
+        compressedView = new ZippedObjectImpl<>(gameView, codec);
+        System.out.println("Codec " + codec + ": " + compressedView.getSize() + " bytes");
+    }
+
+    @Benchmark
+    public Object compressGameView() {
+        return new ZippedObjectImpl<>(gameView, codec);
+    }
+
+    @Benchmark
+    public Object decompressGameView() {
+        return compressedView.unzip();
+    }
+}
@@ -0,0 +1,70 @@
+package org.mage.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import mage.abilities.Ability;
+import mage.abilities.mana.ManaOptions;
+import mage.game.Game;
+import mage.players.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the engine hot paths used by the rules engine and the AI
+ * simulations.
+ *
+ * Run from the Mage.Tests directory: java -jar
+ * ../Mage.Benchmarks/target/benchmarks.jar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    private Game game;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        game = BoardFixture.createMidgameBoard();
+        player = BoardFixture.getActivePlayer(game);
+    }
+
+    @Benchmark
+    public Game copyGame() {
+        return game.copy();
+    }
+
+    @Benchmark
+    public String gameStateValue() {
+        return game.getState().getValue(game, player.getId());
+    }
+
+    @Benchmark
+    public Game applyContinuousEffects() {
+        game.getState().getContinuousEffects().apply(game);
+        return game;
+    }
+
+    @Benchmark
+    public List<Ability> playable() {
+        return player.getPlayable(game, true);
+    }
+
+    @Benchmark
+    public ManaOptions manaAvailable() {
+        return player.getManaAvailable(game);
+    }
+}
@@ -0,0 +1,59 @@
+package org.mage.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mage.game.Game;
+import mage.players.Player;
+import mage.utils.CompressUtil;
+import mage.view.GameView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of what the server does for every game update sent to a client:
+ * building the {@link GameView} and compressing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GameViewBenchmark {
+
+    private Game game;
+    private Player player;
+    private GameView gameView;
+    private Object compressedView;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        game = BoardFixture.createMidgameBoard();
+        player = BoardFixture.getActivePlayer(game);
+        gameView = new GameView(game.getState(), game, player.getId(), null);
+        compressedView = CompressUtil.compress(gameView);
+    }
+
+    @Benchmark
+    public GameView buildGameView() {
+        return new GameView(game.getState(), game, player.getId(), null);
+    }
+
+    @Benchmark
+    public Object compressGameView() {
+        return CompressUtil.compress(gameView);
+    }
+
+    @Benchmark
+    public Object decompressGameView() {
+        return CompressUtil.decompress(compressedView);
+    }
+}
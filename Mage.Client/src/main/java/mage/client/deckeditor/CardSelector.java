@@ -387,17 +387,17 @@ public class CardSelector extends javax.swing.JPanel implements ComponentListene
                     }
                 }
             } else {
-                java.util.List<CardInfo> foundCards = CardRepository.instance.findCards(buildCriteria());
+                // the index matches the criteria and the text filter, so only
+                // the found cards are converted
+                java.util.List<CardInfo> foundCards = CardRepository.instance.getSearchIndex().find(buildCriteria(),
+                        jTextFieldSearch.getText().trim(), chkNames.isSelected(), chkTypes.isSelected(), chkRules.isSelected());
                 for (CardInfo cardInfo : foundCards) {
-                    Card card = cardInfo.getMockCard();
-                    if (filter.match(card, null)) {
-                        if (chkPD) {
-                            if (!pdAllowed.containsKey(card.getName())) {
-                                continue;
-                            }
+                    if (chkPD) {
+                        if (!pdAllowed.containsKey(cardInfo.getName())) {
+                            continue;
                         }
-                        filteredCards.add(card);
                     }
+                    filteredCards.add(cardInfo.getMockCard());
                 }
             }
             if (currentView instanceof CardGrid && filteredCards.size() > CardGrid.MAX_IMAGES) {
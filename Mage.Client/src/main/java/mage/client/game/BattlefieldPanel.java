@@ -44,6 +44,7 @@ import mage.client.util.layout.CardLayoutStrategy;
 import mage.client.util.layout.impl.OldCardLayoutStrategy;
 import mage.view.CounterView;
 import mage.view.PermanentView;
+import org.mage.card.arcane.CardPanel;
 
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -132,6 +133,19 @@ public class BattlefieldPanel extends javax.swing.JLayeredPane {
         cardDimension = GUISizeHelper.battlefieldCardMaxDimension;
     }
 
+    /**
+     * @return width of the permanents shown, new permanents get about the
+     * same width
+     */
+    public int getCardWidth() {
+        for (MagePermanent permanent : permanents.values()) {
+            if (permanent instanceof CardPanel) {
+                return ((CardPanel) permanent).getCardWidth();
+            }
+        }
+        return cardDimension.width;
+    }
+
     public boolean isTopPanelBattlefield() {
         return topPanelBattlefield;
     }
@@ -154,46 +168,12 @@ public class BattlefieldPanel extends javax.swing.JLayeredPane {
                 changed = true;
             } else {
                 if (!changed) {
-                    changed = oldMagePermanent.getOriginalPermanent().isCreature() != permanent.isCreature();
-                    if (!changed) {
-                        int s1 = permanent.getAttachments() == null ? 0 : permanent.getAttachments().size();
-                        int s2 = oldMagePermanent.getLinks().size();
-                        if (s1 != s2) {
-                            changed = true;
-                        } else if (s1 > 0) {
-                            Set<UUID> attachmentIds = new HashSet<>(permanent.getAttachments());
-                            for (MagePermanent magePermanent : oldMagePermanent.getLinks()) {
-                                if (!attachmentIds.contains(magePermanent.getOriginalPermanent().getId())) {
-                                    // that means that the amount of attachments is the same
-                                    // but they are different:
-                                    // we've just found an attachment on previous view
-                                    // that doesn't exist anymore on current view
-                                    changed = true;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    if (!changed) {
-                        UUID u1 = oldMagePermanent.getOriginalPermanent().getAttachedTo();
-                        UUID u2 = permanent.getAttachedTo();
-                        if (u1 == null && u2 != null || u2 == null && u1 != null
-                                || (u1 != null && !u1.equals(u2))) {
-                            changed = true;
-                        }
-                    }
-                    if (!changed) {
-                        List<CounterView> counters1 = oldMagePermanent.getOriginalPermanent().getCounters();
-                        List<CounterView> counters2 = permanent.getCounters();
-                        if (counters1 == null && counters2 != null || counters1 != null && counters2 == null) {
-                            changed = true;
-                        } else if (counters1 != null && counters2 != null && counters1.size() != counters2.size()) {
-                            changed = true;
-                        }
-                    }
-
+                    changed = isLayoutChanged(oldMagePermanent, permanent);
+                }
+                // unchanged permanents keep their panel as it is
+                if (isDisplayChanged(oldMagePermanent.getOriginalPermanent(), permanent)) {
+                    oldMagePermanent.update(permanent);
                 }
-                oldMagePermanent.update(permanent);
             }
         }
 
@@ -233,6 +213,87 @@ public class BattlefieldPanel extends javax.swing.JLayeredPane {
         }
     }
 
+    /**
+     * @return true if the permanent has to be placed again, e.g. because
+     * attachments changed
+     */
+    private static boolean isLayoutChanged(MagePermanent oldMagePermanent, PermanentView permanent) {
+        if (oldMagePermanent.getOriginalPermanent().isCreature() != permanent.isCreature()) {
+            return true;
+        }
+        int s1 = permanent.getAttachments() == null ? 0 : permanent.getAttachments().size();
+        int s2 = oldMagePermanent.getLinks().size();
+        if (s1 != s2) {
+            return true;
+        } else if (s1 > 0) {
+            Set<UUID> attachmentIds = new HashSet<>(permanent.getAttachments());
+            for (MagePermanent magePermanent : oldMagePermanent.getLinks()) {
+                if (!attachmentIds.contains(magePermanent.getOriginalPermanent().getId())) {
+                    // that means that the amount of attachments is the same
+                    // but they are different:
+                    // we've just found an attachment on previous view
+                    // that doesn't exist anymore on current view
+                    return true;
+                }
+            }
+        }
+        UUID u1 = oldMagePermanent.getOriginalPermanent().getAttachedTo();
+        UUID u2 = permanent.getAttachedTo();
+        if (u1 == null && u2 != null || u2 == null && u1 != null
+                || (u1 != null && !u1.equals(u2))) {
+            return true;
+        }
+        List<CounterView> counters1 = oldMagePermanent.getOriginalPermanent().getCounters();
+        List<CounterView> counters2 = permanent.getCounters();
+        if (counters1 == null && counters2 != null || counters1 != null && counters2 == null) {
+            return true;
+        } else if (counters1 != null && counters2 != null && counters1.size() != counters2.size()) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compares everything of the views that is shown by a permanent panel
+     * (card image, tooltip, tapped/flipped state and markers)
+     *
+     * @return true if the panel has to be updated with the new view
+     */
+    private static boolean isDisplayChanged(PermanentView old, PermanentView permanent) {
+        return old.isTapped() != permanent.isTapped()
+                || old.isFlipped() != permanent.isFlipped()
+                || old.isTransformed() != permanent.isTransformed()
+                || old.isFaceDown() != permanent.isFaceDown()
+                || old.isMorphed() != permanent.isMorphed()
+                || old.isManifested() != permanent.isManifested()
+                || old.isCopy() != permanent.isCopy()
+                || old.isControlled() != permanent.isControlled()
+                || old.hasSummoningSickness() != permanent.hasSummoningSickness()
+                || old.getDamage() != permanent.getDamage()
+                || old.isPlayable() != permanent.isPlayable()
+                || old.isChoosable() != permanent.isChoosable()
+                || old.isSelected() != permanent.isSelected()
+                || old.isCanAttack() != permanent.isCanAttack()
+                || !Objects.equals(old.getName(), permanent.getName())
+                || !Objects.equals(old.getDisplayName(), permanent.getDisplayName())
+                || !Objects.equals(old.getNameOwner(), permanent.getNameOwner())
+                || !Objects.equals(old.getPower(), permanent.getPower())
+                || !Objects.equals(old.getToughness(), permanent.getToughness())
+                || !Objects.equals(old.getLoyalty(), permanent.getLoyalty())
+                || !Objects.equals(old.getRules(), permanent.getRules())
+                || !Objects.equals(old.getCardTypes(), permanent.getCardTypes())
+                || !Objects.equals(old.getSubTypes(), permanent.getSubTypes())
+                || !Objects.equals(old.getSuperTypes(), permanent.getSuperTypes())
+                || !Objects.equals(old.getColor(), permanent.getColor())
+                || !Objects.equals(old.getManaCost(), permanent.getManaCost())
+                || !Objects.equals(old.getCounters(), permanent.getCounters())
+                || !Objects.equals(old.getAttachments(), permanent.getAttachments())
+                || !Objects.equals(old.getAttachedTo(), permanent.getAttachedTo())
+                || !Objects.equals(old.getPairedCard(), permanent.getPairedCard())
+                || !Objects.equals(old.getExpansionSetCode(), permanent.getExpansionSetCode())
+                || !Objects.equals(old.getCardNumber(), permanent.getCardNumber());
+    }
+
     public void sortLayout() {
         if (battlefield == null || this.getWidth() < 1) { // Can't do layout when panel is not sized yet
             return;
@@ -138,6 +138,7 @@ import mage.view.SimpleCardsView;
 import mage.view.UserRequestMessage;
 import org.apache.log4j.Logger;
 import org.mage.card.arcane.CardPanel;
+import org.mage.plugins.card.images.ImageCache;
 import org.mage.plugins.card.utils.impl.ImageManagerImpl;
 
 /**
@@ -699,7 +700,28 @@ public final class GamePanel extends javax.swing.JPanel {
         updateGame(game, null);
     }
 
+    /**
+     * Starts to load the images of the cards in hand, on the stack and on the
+     * battlefields in the background, at the size the cards are shown with
+     *
+     * @param game
+     */
+    private void prefetchImages(GameView game) {
+        if (game.getHand() != null) {
+            ImageCache.prefetch(game.getHand().values(), GUISizeHelper.handCardDimension.width);
+        }
+        if (game.getStack() != null) {
+            ImageCache.prefetch(game.getStack().values(), GUISizeHelper.handCardDimension.width);
+        }
+        for (PlayerView player : game.getPlayers()) {
+            PlayAreaPanel playArea = players.get(player.getPlayerId());
+            int cardWidth = playArea == null ? GUISizeHelper.battlefieldCardMaxDimension.width : playArea.getBattlefieldPanel().getCardWidth();
+            ImageCache.prefetch(player.getBattlefield().values(), cardWidth);
+        }
+    }
+
     public synchronized void updateGame(GameView game, Map<String, Serializable> options) {
+        prefetchImages(game);
         if (playerId == null && game.getWatchedHands() == null) {
             this.handContainer.setVisible(false);
         } else {
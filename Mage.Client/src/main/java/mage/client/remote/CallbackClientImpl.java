@@ -29,7 +29,9 @@ package mage.client.remote;
 
 import java.awt.event.KeyEvent;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.*;
 import mage.cards.decks.Deck;
 import mage.client.MageFrame;
@@ -47,6 +49,7 @@ import mage.client.util.audio.AudioManager;
 import mage.client.util.object.SaveObjectUtil;
 import mage.interfaces.callback.CallbackClient;
 import mage.interfaces.callback.ClientCallback;
+import mage.interfaces.callback.ClientCallbackMethod;
 import mage.utils.CompressUtil;
 import mage.view.*;
 import mage.view.ChatMessage.MessageType;
@@ -62,6 +65,9 @@ public class CallbackClientImpl implements CallbackClient {
     private final MageFrame frame;
     private int messageId = 0;
     private int gameInformMessageId = 0;
+    // last received game update of each game, older updates that still wait
+    // for the event dispatch thread are skipped
+    private final Map<UUID, ClientCallback> lastGameUpdates = new ConcurrentHashMap<>();
 
     public CallbackClientImpl(MageFrame frame) {
         this.frame = frame;
@@ -71,6 +77,9 @@ public class CallbackClientImpl implements CallbackClient {
     public synchronized void processCallback(final ClientCallback callback) {
         SaveObjectUtil.saveObject(callback.getData(), callback.getMethod().toString());
         callback.setData(CompressUtil.decompress(callback.getData()));
+        if (callback.getMethod() == ClientCallbackMethod.GAME_UPDATE) {
+            lastGameUpdates.put(callback.getObjectId(), callback);
+        }
         SwingUtilities.invokeLater(() -> {
             try {
                 logger.debug(callback.getMessageId() + " -- " + callback.getMethod());
@@ -272,6 +281,10 @@ public class CallbackClientImpl implements CallbackClient {
                         break;
                     }
                     case GAME_UPDATE: {
+                        // every update contains the whole game, so only the newest one is shown
+                        if (!lastGameUpdates.remove(callback.getObjectId(), callback)) {
+                            break;
+                        }
                         GamePanel panel = MageFrame.getGame(callback.getObjectId());
                         if (panel != null) {
                             panel.updateGame((GameView) callback.getData());
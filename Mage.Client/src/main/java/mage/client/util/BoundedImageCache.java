@@ -0,0 +1,191 @@
+package mage.client.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apache.log4j.Logger;
+
+/**
+ * Image cache with a memory budget. The least recently used images are
+ * removed as soon as the images in the cache need more memory than the
+ * budget, instead of keeping all images until the garbage collector drops
+ * the soft references at once.
+ *
+ * An image is loaded only once if it's requested by several threads at the
+ * same time, {@link #prefetch} loads it on the given executor.
+ *
+ * @param <K> key of the images
+ */
+public class BoundedImageCache<K> {
+
+    private static final Logger LOGGER = Logger.getLogger(BoundedImageCache.class);
+
+    private final String name;
+    private final long maxBytes;
+    private final Function<K, BufferedImage> loader;
+    private final LinkedHashMap<K, BufferedImage> images = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<K, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+    private long bytes;
+
+    /**
+     * @param name
+     * @param maxBytes memory budget of the cached images
+     * @param loader loads an image, it may return null if there is no image,
+     * can be null if the images are always loaded by {@link #get(Object, Function)}
+     */
+    public BoundedImageCache(String name, long maxBytes, Function<K, BufferedImage> loader) {
+        this.name = name;
+        this.maxBytes = maxBytes;
+        this.loader = loader;
+    }
+
+    /**
+     * @param heapFraction part of the maximum heap size, e.g. 0.25
+     * @return budget for a cache
+     */
+    public static long getBudget(double heapFraction) {
+        return (long) (Runtime.getRuntime().maxMemory() * heapFraction);
+    }
+
+    /**
+     * Returns the cached image or loads it on the calling thread
+     *
+     * @param key
+     * @return image or null if there is no image for the key
+     */
+    public BufferedImage get(K key) {
+        return get(key, loader);
+    }
+
+    /**
+     * Returns the cached image or loads it on the calling thread with the
+     * given loader
+     *
+     * @param key
+     * @param loader
+     * @return image or null if there is no image for the key
+     */
+    public BufferedImage get(K key, Function<K, BufferedImage> loader) {
+        BufferedImage image = getIfPresent(key);
+        if (image != null) {
+            return image;
+        }
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> current = loading.putIfAbsent(key, future);
+        if (current != null) {
+            // another thread loads the image already
+            return join(key, current);
+        }
+        load(key, future, loader);
+        return join(key, future);
+    }
+
+    /**
+     * Loads the image in the background if it is not cached
+     *
+     * @param key
+     * @param executor
+     */
+    public void prefetch(K key, Executor executor) {
+        if (containsKey(key)) {
+            return;
+        }
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        if (loading.putIfAbsent(key, future) == null) {
+            executor.execute(() -> load(key, future, loader));
+        }
+    }
+
+    private void load(K key, CompletableFuture<BufferedImage> future, Function<K, BufferedImage> loader) {
+        try {
+            BufferedImage image = loader.apply(key);
+            if (image != null) {
+                put(key, image);
+            }
+            future.complete(image);
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private BufferedImage join(K key, CompletableFuture<BufferedImage> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            LOGGER.error("Cannot load image " + key, ex.getCause());
+        }
+        return null;
+    }
+
+    public synchronized BufferedImage getIfPresent(K key) {
+        return images.get(key);
+    }
+
+    public synchronized boolean containsKey(K key) {
+        return images.containsKey(key);
+    }
+
+    public synchronized void put(K key, BufferedImage image) {
+        BufferedImage old = images.put(key, image);
+        if (old != null) {
+            bytes -= getBytes(old);
+        }
+        bytes += getBytes(image);
+        Iterator<BufferedImage> iterator = images.values().iterator();
+        while (bytes > maxBytes && images.size() > 1 && iterator.hasNext()) {
+            bytes -= getBytes(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the images whose keys match the filter
+     *
+     * @param filter
+     */
+    public synchronized void removeIf(Predicate<K> filter) {
+        Iterator<Map.Entry<K, BufferedImage>> iterator = images.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, BufferedImage> entry = iterator.next();
+            if (filter.test(entry.getKey())) {
+                bytes -= getBytes(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        bytes = 0;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+
+    private static long getBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d images, %d/%d MB", name, size(), getBytes() >> 20, maxBytes >> 20);
+    }
+}
@@ -56,6 +56,7 @@ public final class Config {
     public static final String defaultDeckPath;
     public static final String defaultOtherPlayerIndex;
     public static final String defaultComputerName;
+    public static final boolean packImages;
 
     static {
         Properties p = new Properties();
@@ -74,6 +75,7 @@ public final class Config {
         defaultDeckPath = p.getProperty("default-deck-path");
         defaultOtherPlayerIndex = p.getProperty("default-other-player-index");
         defaultComputerName = p.getProperty("default-computer-name");
+        packImages = Boolean.parseBoolean(p.getProperty("pack-images", "false"));
 
         dimensions = new CardDimensions(cardScalingFactor);
         dimensionsEnlarged = new CardDimensions(cardScalingFactorEnlarged);
@@ -37,9 +37,11 @@ import java.util.Map;
 public final class ImageCaches {
 
     private final static ArrayList<Map> IMAGE_CACHES;
+    private final static ArrayList<BoundedImageCache> BOUNDED_IMAGE_CACHES;
 
     static {
         IMAGE_CACHES = new ArrayList<>();
+        BOUNDED_IMAGE_CACHES = new ArrayList<>();
     }
 
     public static Map register(Map map) {
@@ -47,9 +49,17 @@ public final class ImageCaches {
         return map;
     }
 
+    public static <K> BoundedImageCache<K> register(BoundedImageCache<K> cache) {
+        BOUNDED_IMAGE_CACHES.add(cache);
+        return cache;
+    }
+
     public static void flush() {
         for (Map map : IMAGE_CACHES) {
             map.clear();
         }
+        for (BoundedImageCache cache : BOUNDED_IMAGE_CACHES) {
+            cache.clear();
+        }
     }
 }
@@ -5,8 +5,6 @@
  */
 package mage.client.util;
 
-import com.google.common.base.Function;
-import com.google.common.collect.MapMaker;
 import com.mortennobel.imagescaling.ResampleOp;
 import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
@@ -14,7 +12,8 @@ import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
-import java.util.Map;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 
 /**
  *
@@ -27,11 +26,16 @@ public final class TransformedImageCache {
         final int width;
         final int height;
         final double angle;
+        // the source images are not kept by the cache
+        final WeakReference<BufferedImage> image;
+        final int imageHash;
 
-        public Key(int width, int height, double angle) {
+        public Key(int width, int height, double angle, BufferedImage image) {
             this.width = width;
             this.height = height;
             this.angle = angle;
+            this.image = new WeakReference<>(image, COLLECTED_IMAGES);
+            this.imageHash = System.identityHashCode(image);
         }
 
         @Override
@@ -40,6 +44,7 @@ public final class TransformedImageCache {
             hash = 53 * hash + this.width;
             hash = 53 * hash + this.height;
             hash = 53 * hash + (int) (Double.doubleToLongBits(this.angle) ^ (Double.doubleToLongBits(this.angle) >>> 32));
+            hash = 53 * hash + this.imageHash;
             return hash;
         }
 
@@ -64,15 +69,22 @@ public final class TransformedImageCache {
             if (Double.doubleToLongBits(this.angle) != Double.doubleToLongBits(other.angle)) {
                 return false;
             }
-            return true;
+            BufferedImage source = this.image.get();
+            return source != null && source == other.image.get();
         }
     }
 
-    private static final Map<Key, Map<BufferedImage, BufferedImage>> IMAGE_CACHE;
+    private static final BoundedImageCache<Key> IMAGE_CACHE;
+
+    // references of source images that were garbage collected, their transformed images are removed
+    private static final ReferenceQueue<BufferedImage> COLLECTED_IMAGES = new ReferenceQueue<>();
 
     static {
-        // TODO: can we use a single map?
-        IMAGE_CACHE = ImageCaches.register(new MapMaker().softValues().makeComputingMap((Function<Key, Map<BufferedImage, BufferedImage>>) key -> new MapMaker().weakKeys().softValues().makeComputingMap(image -> {
+        IMAGE_CACHE = ImageCaches.register(new BoundedImageCache<>("Transformed images", BoundedImageCache.getBudget(0.125), key -> {
+            BufferedImage image = key.image.get();
+            if (image == null) {
+                return null;
+            }
             if (key.width != image.getWidth() || key.height != image.getHeight()) {
                 image = resizeImage(image, key.width, key.height);
             }
@@ -80,7 +92,7 @@ public final class TransformedImageCache {
                 image = rotateImage(image, key.angle);
             }
             return image;
-        })));
+        }));
     }
 
     private static BufferedImage rotateImage(BufferedImage image, double angle) {
@@ -145,6 +157,17 @@ public final class TransformedImageCache {
         if (resHeight < 3) {
             resHeight = 3;
         }
-        return IMAGE_CACHE.get(new Key(resWidth, resHeight, angle)).get(image);
+        removeCollectedImages();
+        return IMAGE_CACHE.get(new Key(resWidth, resHeight, angle, image));
+    }
+
+    private static void removeCollectedImages() {
+        if (COLLECTED_IMAGES.poll() == null) {
+            return;
+        }
+        while (COLLECTED_IMAGES.poll() != null) {
+            // all entries of collected images are removed at once
+        }
+        IMAGE_CACHE.removeIf(key -> key.image.get() == null);
     }
 }
@@ -1,7 +1,8 @@
 package org.mage.card.arcane;
 
-import com.google.common.collect.MapMaker;
 import mage.cards.action.ActionCallback;
+import mage.client.util.BoundedImageCache;
+import mage.client.util.ImageCaches;
 import mage.constants.CardType;
 import mage.constants.SubType;
 import mage.constants.SuperType;
@@ -18,7 +19,6 @@ import org.mage.plugins.card.images.ImageCache;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.util.Map;
 import java.util.UUID;
 
 import static org.mage.plugins.card.constants.Constants.THUMBNAIL_SIZE_FULL;
@@ -219,8 +219,9 @@ public class CardPanelRenderImpl extends CardPanel {
     }
 
 
-    // Map of generated images
-    private final static Map<ImageKey, BufferedImage> IMAGE_CACHE = new MapMaker().softValues().makeMap();
+    // Generated images
+    private final static BoundedImageCache<ImageKey> IMAGE_CACHE
+            = ImageCaches.register(new BoundedImageCache<>("Rendered cards", BoundedImageCache.getBudget(0.125), null));
 
     // The art image for the card, loaded in from the disk
     private BufferedImage artImage;
@@ -265,7 +266,7 @@ public class CardPanelRenderImpl extends CardPanel {
                     = new ImageKey(gameCard, artImage,
                     getCardWidth(), getCardHeight(),
                     isChoosable(), isSelected());
-            cardImage = IMAGE_CACHE.computeIfAbsent(key, k -> renderCard());
+            cardImage = IMAGE_CACHE.get(key, k -> renderCard());
 
             // No cached copy exists? Render one and cache it
         }
@@ -363,9 +364,26 @@ public class CardPanelRenderImpl extends CardPanel {
 
     @Override
     public void update(CardView card) {
+        // Only tapping or flipping of the card doesn't change the rendered
+        // card, it's rotated when painted
+        CardView oldCard = gameCard;
+        boolean oldTransformed = isTransformed();
+        boolean oldChoosable = isChoosable();
+        boolean oldSelected = isSelected();
+
         // Update super
         super.update(card);
 
+        if (oldTransformed == isTransformed()
+                && oldChoosable == isChoosable()
+                && oldSelected == isSelected()
+                && oldCard.isPlayable() == card.isPlayable()
+                && oldCard.isCanAttack() == card.isCanAttack()
+                && cardViewEquals(oldCard, card)) {
+            repaint();
+            return;
+        }
+
         // Update renderer
         cardImage = null;
         cardRenderer = cardRendererFactory.create(gameCard, isTransformed());
@@ -30,7 +30,10 @@ import java.text.AttributedString;
 import java.text.CharacterIterator;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /*
@@ -727,6 +730,11 @@ public class ModernCardRenderer extends CardRenderer {
         public Font fontItalic;
     }
 
+    // Best rule layouts of the rendered textbox sizes, for each list of rules
+    // (split cards have two)
+    private static final int MAX_RULE_LAYOUTS = 8;
+    private final Map<List<TextboxRule>, Map<Long, RuleLayout>> ruleLayouts = new IdentityHashMap<>();
+
     /**
      * Figure out if a given text size will work for laying out the rules in a
      * card textbox
@@ -777,14 +785,25 @@ public class ModernCardRenderer extends CardRenderer {
             return;
         }
 
-        // Go through possible font sizes in descending order to find the best fit
-        RuleLayout bestLayout = null;
-        for (int fontSize : RULES_TEXT_FONT_SIZES) {
-            bestLayout = layoutRules(g, allRules, w, h, fontSize);
+        // Go through possible font sizes in descending order to find the best fit,
+        // the result is kept for the size so a resized card is only laid out once
+        Map<Long, RuleLayout> layouts = ruleLayouts.computeIfAbsent(rules, k -> new HashMap<>());
+        long layoutKey = ((long) w << 32) | (h & 0xffffffffL);
+        RuleLayout bestLayout = layouts.get(layoutKey);
+        if (bestLayout == null) {
+            for (int fontSize : RULES_TEXT_FONT_SIZES) {
+                bestLayout = layoutRules(g, allRules, w, h, fontSize);
 
-            // Stop, we found a good fit
-            if (bestLayout.fits) {
-                break;
+                // Stop, we found a good fit
+                if (bestLayout.fits) {
+                    break;
+                }
+            }
+            if (bestLayout != null) {
+                if (layouts.size() >= MAX_RULE_LAYOUTS) {
+                    layouts.clear();
+                }
+                layouts.put(layoutKey, bestLayout);
             }
         }
 
@@ -9,6 +9,8 @@ import java.awt.Image;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import mage.view.CardView;
@@ -28,12 +30,38 @@ public final class TextboxRuleParser {
     private static final Pattern LoyaltyAbilityPattern = Pattern.compile("^(\\+|\\-)(\\d+|X): ");
     private static final Pattern SimpleKeywordPattern = Pattern.compile("^(\\w+( \\w+)?)\\s*(\\([^\\)]*\\))?\\s*$");
 
+    // Parsed rules don't depend on the card size or state, so they are shared
+    // by all renderers of cards with the same name (e.g. tokens)
+    private static final int MAX_CACHED_RULES = 4096;
+    private static final Map<String, TextboxRule> parsedRules = new LinkedHashMap<String, TextboxRule>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TextboxRule> eldest) {
+            return size() > MAX_CACHED_RULES;
+        }
+    };
+
+    public static TextboxRule parse(CardView source, String rule) {
+        // only the name of the source is used for parsing
+        String key = source.getName() + '\n' + rule;
+        synchronized (parsedRules) {
+            TextboxRule parsed = parsedRules.get(key);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        TextboxRule parsed = parseRule(source, rule);
+        synchronized (parsedRules) {
+            parsedRules.put(key, parsed);
+        }
+        return parsed;
+    }
+
     // Parse a given rule (given as a string) into a TextboxRule, replacing
     // symbol annotations, italics, etc, parsing out information such as
     // if the ability is a loyalty ability, and returning an TextboxRule
     // representing that information, which can be used to render the rule in
     // the textbox of a card.
-    public static TextboxRule parse(CardView source, String rule) {
+    private static TextboxRule parseRule(CardView source, String rule) {
         // List of regions to apply
         ArrayList<TextboxRule.AttributeRegion> regions = new ArrayList<>();
 
@@ -1,17 +1,20 @@
 package org.mage.plugins.card.images;
 
-import com.google.common.base.Function;
-import com.google.common.collect.ComputationException;
-import com.google.common.collect.MapMaker;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.util.Map;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.imageio.ImageIO;
 import mage.client.dialog.PreferencesDialog;
+import mage.client.util.BoundedImageCache;
 import mage.client.util.TransformedImageCache;
 import mage.view.CardView;
 import net.java.truevfs.access.TFile;
@@ -23,9 +26,8 @@ import org.mage.plugins.card.dl.sources.DirectLinksForDownload;
 import org.mage.plugins.card.utils.CardImageUtils;
 
 /**
- * This class stores ALL card images in a cache with soft values. this means
- * that the images may be garbage collected when they are not needed any more,
- * but will be kept as long as possible.
+ * This class stores the card images in a cache with a memory budget of a
+ * quarter of the heap, the least recently used images are removed first.
  *
  * Key format: "[cardname]#[setname]#[type]#[collectorID]#[param]"
  *
@@ -43,7 +45,18 @@ public final class ImageCache {
 
     private static final Logger LOGGER = Logger.getLogger(ImageCache.class);
 
-    private static final Map<String, BufferedImage> IMAGE_CACHE;
+    private static final BoundedImageCache<String> IMAGE_CACHE;
+
+    // keys without an image, they are not looked up again until the next download
+    private static final Set<String> MISSING_IMAGES = ConcurrentHashMap.newKeySet();
+
+    // decodes the images of new game views before they are shown
+    private static final ExecutorService IMAGE_DECODER = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "IMAGE DECODER");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
 
     /**
      * Common pattern for keys. Format: "<cardname>#<setname>#<collectorID>"
@@ -51,7 +64,7 @@ public final class ImageCache {
     private static final Pattern KEY_PATTERN = Pattern.compile("(.*)#(.*)#(.*)#(.*)#(.*)#(.*)");
 
     static {
-        IMAGE_CACHE = new MapMaker().softValues().makeComputingMap(new Function<String, BufferedImage>() {
+        Function<String, BufferedImage> loader = new Function<String, BufferedImage>() {
             @Override
             public BufferedImage apply(String key) {
                 try {
@@ -137,11 +150,8 @@ public final class ImageCache {
                                 "Requested image doesn't fit the requirement for key (<cardname>#<setname>#<collectorID>): " + key);
                     }
                 } catch (Exception ex) {
-                    if (ex instanceof ComputationException) {
-                        throw (ComputationException) ex;
-                    } else {
-                        throw new ComputationException(ex);
-                    }
+                    LOGGER.error(ex, ex);
+                    return null;
                 }
             }
 
@@ -154,6 +164,13 @@ public final class ImageCache {
                 LOGGER.debug("creating thumbnail for " + key);
                 return makeThumbnail(image, thumbnailPath);
             }
+        };
+        IMAGE_CACHE = new BoundedImageCache<>("Card images", BoundedImageCache.getBudget(0.25), key -> {
+            BufferedImage image = loader.apply(key);
+            if (image == null) {
+                MISSING_IMAGES.add(key);
+            }
+            return image;
         });
     }
 
@@ -224,21 +241,11 @@ public final class ImageCache {
      * Returns the Image corresponding to the key
      */
     private static BufferedImage getImage(String key) {
-        try {
-            return IMAGE_CACHE.get(key);
-        } catch (NullPointerException ex) {
-            // unfortunately NullOutputException, thrown when apply() returns
-            // null, is not public
-            // NullOutputException is a subclass of NullPointerException
-            // legitimate, happens when a card has no image
-            return null;
-        } catch (ComputationException ex) {
-            if (ex.getCause() instanceof NullPointerException) {
-                return null;
-            }
-            LOGGER.error(ex, ex);
+        // null is legitimate, happens when a card has no image
+        if (MISSING_IMAGES.contains(key)) {
             return null;
         }
+        return IMAGE_CACHE.get(key);
     }
 
     /**
@@ -246,7 +253,39 @@ public final class ImageCache {
      * the cache.
      */
     private static BufferedImage tryGetImage(String key) {
-        return IMAGE_CACHE.containsKey(key) ? IMAGE_CACHE.get(key) : null;
+        return IMAGE_CACHE.getIfPresent(key);
+    }
+
+    /**
+     * Starts to load the images of the cards in the background, so they are
+     * ready when the cards are shown. Only the image that is drawn at the
+     * given width is loaded, i.e. the thumbnail for small cards.
+     *
+     * @param cards
+     * @param cardWidth width the cards are shown with
+     */
+    public static void prefetch(Collection<? extends CardView> cards, int cardWidth) {
+        String suffix = isThumbnailWidth(cardWidth) ? "#thumb" : "";
+        for (CardView card : cards) {
+            if (!card.isFaceDown()) {
+                String key = getKey(card, card.getName(), suffix);
+                if (!MISSING_IMAGES.contains(key)) {
+                    IMAGE_CACHE.prefetch(key, IMAGE_DECODER);
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up the images again that were not found before, e.g. after they
+     * were downloaded
+     */
+    public static void clearMissingImages() {
+        MISSING_IMAGES.clear();
+    }
+
+    private static boolean isThumbnailWidth(int width) {
+        return Constants.THUMBNAIL_SIZE_FULL.width + 10 > width;
     }
 
     /**
@@ -277,6 +316,11 @@ public final class ImageCache {
         if (file == null) {
             return null;
         }
+        // images of a zip are read from its pack as soon as it is created
+        BufferedImage packedImage = PackedImageStore.instance.read(file.getPath());
+        if (packedImage != null) {
+            return packedImage;
+        }
         if (!file.exists()) {
             LOGGER.debug("File does not exist: " + file.toString());
             return null;
@@ -344,10 +388,10 @@ public final class ImageCache {
      * @return
      */
     public static BufferedImage getImage(CardView card, int width, int height) {
-        if (Constants.THUMBNAIL_SIZE_FULL.width + 10 > width) {
+        if (isThumbnailWidth(width)) {
             return getThumbnail(card);
         }
-        String key = getKey(card, card.getName(), Integer.toString(width));
+        String key = getKey(card, card.getName(), "");
         BufferedImage original = getImage(key);
         if (original == null) {
             LOGGER.debug(key + " not found");
@@ -373,10 +417,10 @@ public final class ImageCache {
      * @return
      */
     public static BufferedImage tryGetImage(CardView card, int width, int height) {
-        if (Constants.THUMBNAIL_SIZE_FULL.width + 10 > width) {
+        if (isThumbnailWidth(width)) {
             return tryGetThumbnail(card);
         }
-        String key = getKey(card, card.getName(), Integer.toString(width));
+        String key = getKey(card, card.getName(), "");
         BufferedImage original = tryGetImage(key);
         if (original == null) {
             LOGGER.debug(key + " not found");
@@ -0,0 +1,351 @@
+package org.mage.plugins.card.images;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.imageio.ImageIO;
+import mage.client.util.Config;
+import org.apache.log4j.Logger;
+
+/**
+ * Card images of a zip file (e.g. M13.zip) packed into one indexed file next
+ * to it (M13.&lt;time the zip was changed&gt;.pack). The pack is read through a
+ * memory mapped file, so an image is found with a map lookup and read
+ * without decompressing the zip.
+ *
+ * The packs are created in the background the first time an image of a zip
+ * is loaded and created again under a new name if the zip was changed (e.g.
+ * by a download), a mapped file can't be replaced on every system. Until
+ * then the images are read from the zip as before. Zips that are still
+ * written (thumbnails, running downloads) are not packed.
+ *
+ * A pack needs about as much disk space as its zip, the images are stored
+ * in the zips without compression. So packing is only done if it's switched
+ * on with pack-images=true in config.properties. Old packs are deleted as
+ * soon as they are no longer mapped.
+ *
+ * Format: magic number, size of the packed zip, the image files, the index
+ * (count, then name, offset and length of each file), offset of the index.
+ * A pack is only used as long as size and change time of its zip are the
+ * same as when it was packed.
+ */
+public enum PackedImageStore {
+    instance;
+
+    private static final Logger LOGGER = Logger.getLogger(PackedImageStore.class);
+
+    private static final int MAGIC = 0x58504b32;
+    private static final int HEADER_SIZE = 12;
+    // the zip of a pack is checked for changes at most this often
+    private static final long CHECK_INTERVAL_MILLIS = 1000;
+    private static final String ZIP_EXTENSION = ".zip";
+    private static final String THUMB_ZIP_EXTENSION = ".thumb.zip";
+    private static final String PACK_EXTENSION = ".pack";
+    // a zip changed less than this ago may still be written
+    private static final long MIN_ZIP_AGE_MILLIS = 60000;
+
+    private final Map<String, Pack> packs = new ConcurrentHashMap<>();
+    private final Set<String> converting = ConcurrentHashMap.newKeySet();
+    // zip path -> change time of the zip that could not be packed, it's not packed again until it changes
+    private final Map<String, Long> failed = new ConcurrentHashMap<>();
+    private final ExecutorService converter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "IMAGE PACKER");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * @param path path of an image inside a zip file, e.g.
+     * images/M13.zip/M13/Ajani.full.jpg
+     * @return the image or null if the image is not packed (yet)
+     */
+    public BufferedImage read(String path) {
+        int index = getZipEnd(path);
+        if (index < 0) {
+            return null;
+        }
+        Pack pack = getPack(path.substring(0, index));
+        if (pack == null) {
+            return null;
+        }
+        byte[] data = pack.read(getEntryName(path, index));
+        if (data == null) {
+            return null;
+        }
+        try {
+            return ImageIO.read(new ByteArrayInputStream(data));
+        } catch (IOException ex) {
+            LOGGER.error("Cannot read packed image " + path, ex);
+        }
+        return null;
+    }
+
+    /**
+     * @param path path of an image inside a zip file
+     * @return path with the name of the packed image, it can differ in case,
+     * or null if the image is not packed (yet)
+     */
+    public String findPath(String path) {
+        int index = getZipEnd(path);
+        if (index < 0) {
+            return null;
+        }
+        Pack pack = getPack(path.substring(0, index));
+        if (pack == null) {
+            return null;
+        }
+        String name = pack.findName(getEntryName(path, index));
+        if (name == null) {
+            return null;
+        }
+        return path.substring(0, index + 1) + name.replace("/", File.separator);
+    }
+
+    private static int getZipEnd(String path) {
+        int index = path.indexOf(ZIP_EXTENSION + File.separator);
+        if (index < 0) {
+            index = path.indexOf(ZIP_EXTENSION + '/');
+        }
+        return index < 0 ? -1 : index + ZIP_EXTENSION.length();
+    }
+
+    private static String getEntryName(String path, int zipEnd) {
+        return path.substring(zipEnd + 1).replace('\\', '/');
+    }
+
+    private Pack getPack(String zipPath) {
+        if (!Config.packImages || zipPath.endsWith(THUMB_ZIP_EXTENSION)) {
+            // thumbnails are added to their zip while the images are viewed
+            return null;
+        }
+        Pack pack = packs.get(zipPath);
+        if (pack != null && !pack.isOutdated()) {
+            return pack;
+        }
+        File zip = new File(zipPath);
+        long zipModified = zip.lastModified();
+        if (zipModified == 0) {
+            return pack;
+        }
+        File packFile = getPackFile(zip, zipModified);
+        if (pack == null && packFile.isFile()) {
+            try {
+                pack = new Pack(packFile, zip, zipModified);
+                packs.put(zipPath, pack);
+                deleteOldPacks(zip, packFile);
+                return pack;
+            } catch (IOException ex) {
+                LOGGER.warn("Cannot open image pack " + packFile + ", creating it again", ex);
+                pack = null;
+                packFile.delete();
+            }
+        }
+        if (System.currentTimeMillis() - zipModified >= MIN_ZIP_AGE_MILLIS
+                && !Long.valueOf(zipModified).equals(failed.get(zipPath))
+                && converting.add(zipPath)) {
+            converter.execute(() -> {
+                try {
+                    convert(zip, packFile);
+                    packs.put(zipPath, new Pack(packFile, zip, zipModified));
+                    // the replaced pack may still be mapped, then its file is deleted with the next start
+                    deleteOldPacks(zip, packFile);
+                } catch (IOException ex) {
+                    failed.put(zipPath, zipModified);
+                    LOGGER.warn("Cannot pack images of " + zip, ex);
+                } finally {
+                    converting.remove(zipPath);
+                }
+            });
+        }
+        // an outdated pack is still used for the images it contains
+        return pack;
+    }
+
+    private static File getPackFile(File zip, long zipModified) {
+        return new File(zip.getParentFile(), getBaseName(zip) + '.' + zipModified + PACK_EXTENSION);
+    }
+
+    private static String getBaseName(File zip) {
+        String name = zip.getName();
+        return name.substring(0, name.length() - ZIP_EXTENSION.length());
+    }
+
+    private static void deleteOldPacks(File zip, File packFile) {
+        Pattern packName = Pattern.compile(Pattern.quote(getBaseName(zip)) + "(\\.\\d+)?" + Pattern.quote(PACK_EXTENSION));
+        File[] files = zip.getParentFile().listFiles((dir, name) -> packName.matcher(name).matches());
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.equals(packFile) && !file.delete()) {
+                LOGGER.debug("Cannot delete old image pack " + file + " yet");
+            }
+        }
+    }
+
+    /**
+     * Packs all files of the zip
+     *
+     * @param zip
+     * @param packFile
+     * @throws IOException
+     */
+    public static void convert(File zip, File packFile) throws IOException {
+        long start = System.currentTimeMillis();
+        File temp = new File(packFile.getPath() + ".tmp");
+        List<String> names = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(zip);
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            output.writeInt(MAGIC);
+            output.writeLong(zip.length());
+            long offset = HEADER_SIZE;
+            byte[] buffer = new byte[65536];
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                int length = 0;
+                try (InputStream input = zipFile.getInputStream(entry)) {
+                    int read;
+                    while ((read = input.read(buffer)) > 0) {
+                        output.write(buffer, 0, read);
+                        length += read;
+                    }
+                }
+                names.add(entry.getName());
+                offsets.add(offset);
+                lengths.add(length);
+                offset += length;
+            }
+            output.writeInt(names.size());
+            for (int i = 0; i < names.size(); i++) {
+                output.writeUTF(names.get(i));
+                output.writeLong(offsets.get(i));
+                output.writeInt(lengths.get(i));
+            }
+            output.writeLong(offset);
+        } catch (IOException ex) {
+            temp.delete();
+            throw ex;
+        }
+        Files.move(temp.toPath(), packFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        LOGGER.info("Packed " + names.size() + " images of " + zip + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private static final class Pack {
+
+        private final File zip;
+        private final long zipModified;
+        private final long zipLength;
+        private final MappedByteBuffer buffer;
+        private volatile long lastCheck;
+        private volatile boolean outdated;
+        // lower case name -> name, offset and length
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        Pack(File file, File zip, long zipModified) throws IOException {
+            this.zip = zip;
+            this.zipModified = zipModified;
+            try (RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel()) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Image pack too large: " + file);
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Unknown file format: " + file);
+            }
+            this.zipLength = buffer.getLong(4);
+            if (zipLength != zip.length()) {
+                throw new IOException("Image pack doesn't match its zip: " + file);
+            }
+            this.lastCheck = System.currentTimeMillis();
+            int position = (int) buffer.getLong(buffer.capacity() - 8);
+            int count = buffer.getInt(position);
+            position += 4;
+            for (int i = 0; i < count; i++) {
+                int nameLength = buffer.getShort(position) & 0xffff;
+                byte[] name = new byte[nameLength];
+                read(position + 2, name);
+                position += 2 + nameLength;
+                Entry entry = new Entry(new String(name, "UTF-8"), (int) buffer.getLong(position), buffer.getInt(position + 8));
+                position += 12;
+                entries.put(entry.name.toLowerCase(Locale.ENGLISH), entry);
+            }
+        }
+
+        boolean isOutdated() {
+            long now = System.currentTimeMillis();
+            if (!outdated && now - lastCheck >= CHECK_INTERVAL_MILLIS) {
+                lastCheck = now;
+                // images downloaded again change the zip
+                outdated = zip.lastModified() != zipModified || zip.length() != zipLength;
+            }
+            return outdated;
+        }
+
+        String findName(String name) {
+            Entry entry = entries.get(name.toLowerCase(Locale.ENGLISH));
+            return entry == null ? null : entry.name;
+        }
+
+        byte[] read(String name) {
+            Entry entry = entries.get(name.toLowerCase(Locale.ENGLISH));
+            if (entry == null) {
+                return null;
+            }
+            byte[] data = new byte[entry.length];
+            read(entry.offset, data);
+            return data;
+        }
+
+        private void read(int offset, byte[] data) {
+            // the buffer is shared by all threads, so its position isn't changed
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(data);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String name;
+        private final int offset;
+        private final int length;
+
+        Entry(String name, int offset, int length) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
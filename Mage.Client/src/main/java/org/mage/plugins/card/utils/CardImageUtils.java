@@ -13,6 +13,7 @@ import mage.remote.Connection.ProxyType;
 import net.java.truevfs.access.TFile;
 import org.apache.log4j.Logger;
 import org.mage.plugins.card.images.CardDownloadData;
+import org.mage.plugins.card.images.PackedImageStore;
 import org.mage.plugins.card.properties.SettingsManager;
 
 public final class CardImageUtils {
@@ -179,6 +180,11 @@ public final class CardImageUtils {
             imageName = name + type + ".full.jpg";
         }
 
+        String packedPath = PackedImageStore.instance.findPath(imageDir + TFile.separator + imageName);
+        if (packedPath != null) {
+            return packedPath;
+        }
+
         if (new TFile(imageDir).exists() && !new TFile(imageDir + TFile.separator + imageName).exists()) {
             for (String fileName : new TFile(imageDir).list()) {
                 if (fileName.toLowerCase().equals(imageName.toLowerCase())) {
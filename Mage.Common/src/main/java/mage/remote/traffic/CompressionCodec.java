@@ -0,0 +1,37 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+
+/**
+ * Compresses the serialized objects sent between server and client. The id of
+ * the codec is sent with the data, so the client can always decompress it
+ * with the codec the server has chosen.
+ */
+public interface CompressionCodec {
+
+    byte NONE_ID = 0;
+    byte DEFLATE_ID = 1;
+
+    byte getId();
+
+    /**
+     * @param data buffer with the data, it can be reused after the call
+     * @param length number of bytes of the data
+     * @return compressed data
+     * @throws IOException
+     */
+    byte[] compress(byte[] data, int length) throws IOException;
+
+    byte[] decompress(byte[] data) throws IOException;
+
+    static CompressionCodec forId(byte id) throws IOException {
+        switch (id) {
+            case NONE_ID:
+                return NoCompressionCodec.instance;
+            case DEFLATE_ID:
+                return DeflateCodec.getDecompressor();
+            default:
+                throw new IOException("Unknown compression codec: " + id);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Raw deflate without the gzip header and checksum. Every thread keeps its
+ * output buffer, so it is not allocated for every message. The deflater and
+ * inflater are ended after every call, they hold native memory that would
+ * otherwise stay with every pooled thread.
+ *
+ * Format: uncompressed length (4 bytes), deflate data.
+ */
+public class DeflateCodec implements CompressionCodec {
+
+    // larger buffers are not kept by the threads
+    private static final int MAX_POOLED_BUFFER = 1024 * 1024;
+
+    private static final DeflateCodec decompressor = new DeflateCodec(Deflater.DEFAULT_COMPRESSION);
+    private static final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final int level;
+
+    /**
+     * @param level compression level from 1 (fastest) to 9 (smallest)
+     */
+    public DeflateCodec(int level) {
+        this.level = level;
+    }
+
+    static DeflateCodec getDecompressor() {
+        return decompressor;
+    }
+
+    @Override
+    public byte getId() {
+        return DEFLATE_ID;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public byte[] compress(byte[] data, int length) {
+        Deflater deflater = new Deflater(level, true);
+        byte[] buffer = buffers.get();
+        int size = 4;
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            buffer[0] = (byte) (length >>> 24);
+            buffer[1] = (byte) (length >>> 16);
+            buffer[2] = (byte) (length >>> 8);
+            buffer[3] = (byte) length;
+            while (!deflater.finished()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                size += deflater.deflate(buffer, size, buffer.length - size);
+            }
+        } finally {
+            deflater.end();
+        }
+        if (buffer.length <= MAX_POOLED_BUFFER) {
+            buffers.set(buffer);
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) throws IOException {
+        if (data.length < 4) {
+            throw new IOException("Compressed data too short");
+        }
+        int length = ((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff);
+        byte[] result = new byte[length];
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(data, 4, data.length - 4);
+        try {
+            int size = 0;
+            while (size < length) {
+                int inflated = inflater.inflate(result, size, length - size);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary() || inflater.finished())) {
+                    throw new IOException("Compressed data too short");
+                }
+                size += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "deflate " + level;
+    }
+}
@@ -0,0 +1,30 @@
+package mage.remote.traffic;
+
+import java.util.Arrays;
+
+/**
+ * Sends the serialized data as it is, e.g. for a server in a local network.
+ */
+public enum NoCompressionCodec implements CompressionCodec {
+    instance;
+
+    @Override
+    public byte getId() {
+        return NONE_ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] data, int length) {
+        return Arrays.copyOf(data, length);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "none";
+    }
+}
@@ -6,42 +6,62 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
+import mage.utils.CompressUtil;
 
 /**
- * Implementation for compressing and decompressing objects using {@link GZIPInputStream} and {@link GZIPOutputStream}.
+ * Implementation for compressing and decompressing objects with a {@link CompressionCodec}.
  * Can be used to send any {@link Object} over internet to reduce traffic usage.
  *
  * @author ayrat
  */
 public class ZippedObjectImpl<T> implements ZippedObject<T>, Serializable {
 
+    // larger buffers are not kept by the threads
+    private static final int MAX_POOLED_BUFFER = 1024 * 1024;
+    private static final ThreadLocal<SerializationBuffer> buffers = ThreadLocal.withInitial(SerializationBuffer::new);
+
+    private byte codecId;
     private byte[] data;
 
     public ZippedObjectImpl(T object) {
         zip(object);
     }
 
+    public ZippedObjectImpl(T object, CompressionCodec codec) {
+        zip(object, codec);
+    }
+
     public void zip(T object) {
+        zip(object, CompressUtil.getCodec());
+    }
+
+    private void zip(T object, CompressionCodec codec) {
+        long start = EngineMetrics.start();
+        SerializationBuffer buffer = buffers.get();
         try {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            GZIPOutputStream gz = new GZIPOutputStream(bos);
-            ObjectOutputStream oos = new ObjectOutputStream(gz);
-            oos.writeObject(object);
-            oos.close();
-            data = bos.toByteArray();
+            buffer.reset();
+            try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+                oos.writeObject(object);
+            }
+            data = codec.compress(buffer.getBuffer(), buffer.size());
+            codecId = codec.getId();
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            if (buffer.getBuffer().length > MAX_POOLED_BUFFER) {
+                buffers.remove();
+            }
         }
+        EngineMetrics.getServerMetrics().stop(EngineMetric.SERIALIZATION, start);
     }
 
     @SuppressWarnings("unchecked")
     public T unzip() {
         try {
-            ByteArrayInputStream bis = new ByteArrayInputStream(data);
-            GZIPInputStream gz = new GZIPInputStream(bis);
-            ObjectInputStream ois = new ObjectInputStream(gz);
+            ByteArrayInputStream bis = new ByteArrayInputStream(CompressionCodec.forId(codecId).decompress(data));
+            ObjectInputStream ois = new ObjectInputStream(bis);
             Object o = ois.readObject();
             return (T)o;
         } catch (Exception e) {
@@ -50,5 +70,23 @@ public class ZippedObjectImpl<T> implements ZippedObject<T>, Serializable {
         return null;
     }
 
-    private static final long serialVersionUID = 1L;
+    /**
+     * @return size of the compressed data in bytes
+     */
+    public int getSize() {
+        return data == null ? 0 : data.length;
+    }
+
+    private static final class SerializationBuffer extends ByteArrayOutputStream {
+
+        SerializationBuffer() {
+            super(8192);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    private static final long serialVersionUID = 2L;
 }
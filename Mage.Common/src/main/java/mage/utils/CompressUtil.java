@@ -1,5 +1,8 @@
 package mage.utils;
 
+import mage.remote.traffic.CompressionCodec;
+import mage.remote.traffic.DeflateCodec;
+import mage.remote.traffic.NoCompressionCodec;
 import mage.remote.traffic.ZippedObject;
 import mage.remote.traffic.ZippedObjectImpl;
 
@@ -21,8 +24,25 @@ public final class CompressUtil {
      */
     private static final String NO_COMPRESS_DATA_PROPERTY = "nocompress";
 
+    /**
+     * Codec (deflate or none) and deflate level (1 - 9) of the compressed
+     * data, the client reads the codec from the data.
+     */
+    private static final String CODEC_PROPERTY = "xmage.compress.codec";
+    private static final String LEVEL_PROPERTY = "xmage.compress.level";
+
+    // fastest level, a higher level saves little traffic for much more time
+    private static final int DEFAULT_LEVEL = 1;
+
+    private static volatile CompressionCodec codec;
+
     static {
         compressData = System.getProperty(NO_COMPRESS_DATA_PROPERTY) == null;
+        if ("none".equalsIgnoreCase(System.getProperty(CODEC_PROPERTY))) {
+            codec = NoCompressionCodec.instance;
+        } else {
+            codec = new DeflateCodec(Integer.getInteger(LEVEL_PROPERTY, DEFAULT_LEVEL));
+        }
     }
 
     /**
@@ -45,6 +65,14 @@ public final class CompressUtil {
         return ((ZippedObject) data).unzip();
     }
 
+    public static CompressionCodec getCodec() {
+        return codec;
+    }
+
+    public static void setCodec(CompressionCodec codec) {
+        CompressUtil.codec = codec;
+    }
+
     /**
      * Compress data.
      *
@@ -0,0 +1,572 @@
+package mage.player.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import mage.abilities.Ability;
+import mage.abilities.effects.RequirementEffect;
+import mage.abilities.keyword.DeathtouchAbility;
+import mage.abilities.keyword.DoubleStrikeAbility;
+import mage.abilities.keyword.FirstStrikeAbility;
+import mage.abilities.keyword.IndestructibleAbility;
+import mage.abilities.keyword.LifelinkAbility;
+import mage.abilities.keyword.TrampleAbility;
+import mage.abilities.keyword.VigilanceAbility;
+import mage.constants.CardType;
+import mage.game.Game;
+import mage.game.combat.CombatGroup;
+import mage.game.permanent.Permanent;
+import mage.player.ai.ma.ArtificialScoringSystem;
+
+/**
+ * Plans attacks and blocks for the simulations without a game copy for every
+ * combination of creatures.
+ *
+ * The creatures are reduced to a lightweight model (power, toughness, the
+ * combat keywords and which blocker can block which attacker, taken from the
+ * restriction effects of the real game). The combinations are searched with a
+ * beam search on that model, the attacks are scored against the best block the
+ * defender finds for them. Only the best candidates have to be declared on
+ * real game copies.
+ */
+public class CombatPlanner {
+
+    // partial attacks/blocks kept on every step of the beam search
+    private static final int ATTACK_BEAM_WIDTH = 16;
+    private static final int BLOCK_BEAM_WIDTH = 64;
+    // the answer of the defender to every attack candidate is searched with a narrower beam
+    private static final int RESPONSE_BEAM_WIDTH = 4;
+    private static final int LETHAL_SCORE = ArtificialScoringSystem.WIN_GAME_SCORE / 10;
+    private static final int NO_BLOCK = -1;
+
+    private final CombatCreature[] attackers;
+    private final CombatCreature[] blockers;
+    private final boolean[][] canBlock; // [blocker][attacker]
+    private final int attackingPlayerLife;
+    private final int defendingPlayerLife;
+    // creatures of the defending player that can attack on the next turn, strongest first
+    private final CombatCreature[] crackBack;
+    // creatures of the attacking player that can't attack now but can block on the next turn
+    private final int otherDefenders;
+
+    // work areas of evaluate()
+    private final int[] group;
+    private final int[] groupDamage;
+    private final boolean[] blockerDead;
+
+    private CombatPlanner(CombatCreature[] attackers, CombatCreature[] blockers, boolean[][] canBlock,
+            int attackingPlayerLife, int defendingPlayerLife, CombatCreature[] crackBack, int otherDefenders) {
+        this.attackers = attackers;
+        this.blockers = blockers;
+        this.canBlock = canBlock;
+        this.attackingPlayerLife = attackingPlayerLife;
+        this.defendingPlayerLife = defendingPlayerLife;
+        this.crackBack = crackBack;
+        this.otherDefenders = otherDefenders;
+        this.group = new int[blockers.length];
+        this.groupDamage = new int[blockers.length];
+        this.blockerDead = new boolean[blockers.length];
+    }
+
+    /**
+     * Model to plan the attack of attackingPlayerId against defenderId
+     *
+     * @param game
+     * @param attackingPlayerId
+     * @param defenderId
+     * @param availableAttackers
+     * @return
+     */
+    public static CombatPlanner forAttack(Game game, UUID attackingPlayerId, UUID defenderId, List<Permanent> availableAttackers) {
+        CombatCreature[] attackers = new CombatCreature[availableAttackers.size()];
+        for (int i = 0; i < attackers.length; i++) {
+            attackers[i] = new CombatCreature(availableAttackers.get(i), game);
+            attackers[i].forced = mustAttack(availableAttackers.get(i), game);
+        }
+        List<Permanent> availableBlockers = game.getPlayer(defenderId).getAvailableBlockers(game);
+        CombatCreature[] blockers = createBlockers(availableBlockers, game);
+        boolean[][] canBlock = new boolean[blockers.length][attackers.length];
+        for (int b = 0; b < blockers.length; b++) {
+            Permanent blocker = game.getPermanent(blockers[b].id);
+            for (int a = 0; a < attackers.length; a++) {
+                canBlock[b][a] = blocker != null && blocker.canBlock(attackers[a].id, game);
+            }
+        }
+
+        Map<UUID, CombatCreature> blockersById = new HashMap<>();
+        for (CombatCreature blocker : blockers) {
+            blockersById.put(blocker.id, blocker);
+        }
+        Set<UUID> attackerIds = new HashSet<>();
+        for (CombatCreature attacker : attackers) {
+            attackerIds.add(attacker.id);
+        }
+        List<CombatCreature> crackBack = new ArrayList<>();
+        int otherDefenders = 0;
+        for (Permanent creature : game.getBattlefield().getAllActivePermanents(CardType.CREATURE)) {
+            if (creature.getControllerId().equals(defenderId)) {
+                CombatCreature attacker = blockersById.get(creature.getId());
+                crackBack.add(attacker != null ? attacker : new CombatCreature(creature, game));
+            } else if (creature.getControllerId().equals(attackingPlayerId)
+                    && !creature.isTapped() && !attackerIds.contains(creature.getId())) {
+                otherDefenders++;
+            }
+        }
+        crackBack.sort(Comparator.comparingInt((CombatCreature creature) -> creature.power).reversed());
+
+        return new CombatPlanner(attackers, blockers, canBlock,
+                game.getPlayer(attackingPlayerId).getLife(), game.getPlayer(defenderId).getLife(),
+                crackBack.toArray(new CombatCreature[crackBack.size()]), otherDefenders);
+    }
+
+    /**
+     * Model to plan the blocks of defenderId against the attack declared in
+     * the game, every combat group is one attacker of the model
+     *
+     * @param game
+     * @param defenderId
+     * @param availableBlockers
+     * @return
+     */
+    public static CombatPlanner forBlock(Game game, UUID defenderId, List<Permanent> availableBlockers) {
+        List<CombatGroup> groups = game.getCombat().getGroups();
+        CombatCreature[] attackers = new CombatCreature[groups.size()];
+        for (int i = 0; i < attackers.length; i++) {
+            Permanent attacker = null;
+            if (!groups.get(i).getAttackers().isEmpty()) {
+                attacker = game.getPermanent(groups.get(i).getAttackers().get(0));
+            }
+            attackers[i] = attacker != null ? new CombatCreature(attacker, game) : new CombatCreature();
+        }
+        CombatCreature[] blockers = createBlockers(availableBlockers, game);
+        boolean[][] canBlock = new boolean[blockers.length][attackers.length];
+        for (int b = 0; b < blockers.length; b++) {
+            Permanent blocker = game.getPermanent(blockers[b].id);
+            for (int a = 0; a < attackers.length; a++) {
+                canBlock[b][a] = blocker != null && attackers[a].id != null && groups.get(a).canBlock(blocker, game);
+            }
+        }
+        UUID attackingPlayerId = game.getCombat().getAttackingPlayerId();
+        int attackingPlayerLife = attackingPlayerId != null ? game.getPlayer(attackingPlayerId).getLife() : 0;
+        return new CombatPlanner(attackers, blockers, canBlock,
+                attackingPlayerLife, game.getPlayer(defenderId).getLife(), null, 0);
+    }
+
+    private static CombatCreature[] createBlockers(List<Permanent> availableBlockers, Game game) {
+        CombatCreature[] blockers = new CombatCreature[availableBlockers.size()];
+        for (int i = 0; i < blockers.length; i++) {
+            blockers[i] = new CombatCreature(availableBlockers.get(i), game);
+        }
+        // the attacker assigns its damage to the most valuable blockers first
+        Arrays.sort(blockers, Comparator.comparingInt((CombatCreature creature) -> creature.value).reversed());
+        for (int i = 0; i < blockers.length; i++) {
+            blockers[i].blockerIndex = i;
+        }
+        return blockers;
+    }
+
+    private static boolean mustAttack(Permanent creature, Game game) {
+        for (Map.Entry<RequirementEffect, Set<Ability>> entry : game.getContinuousEffects().getApplicableRequirementEffects(creature, game).entrySet()) {
+            if (entry.getKey().mustAttack(game)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The model has no block requirements, the blocks of creatures that have
+     * to block (e.g. because of Lure) can only be searched on the real game
+     *
+     * @param game
+     * @param availableBlockers
+     * @return true if one of the blockers is forced to block
+     */
+    public static boolean hasBlockRequirements(Game game, List<Permanent> availableBlockers) {
+        if (!game.getContinuousEffects().existRequirementEffects()) {
+            return false;
+        }
+        for (Permanent blocker : availableBlockers) {
+            for (RequirementEffect effect : game.getContinuousEffects().getApplicableRequirementEffects(blocker, game).keySet()) {
+                if (effect.mustBlock(game) || effect.mustBlockAny(game)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Best attacks first. The attack without any (optional) attacker is always
+     * part of the result.
+     *
+     * @param maxCandidates
+     * @return ids of the attacking creatures of every candidate
+     */
+    public List<List<UUID>> planAttacks(int maxCandidates) {
+        boolean[] forced = new boolean[attackers.length];
+        for (int a = 0; a < attackers.length; a++) {
+            forced[a] = attackers[a].forced;
+        }
+        List<Plan<boolean[]>> beam = new ArrayList<>();
+        beam.add(new Plan<>(forced, scoreAttack(forced)));
+        for (int a = 0; a < attackers.length; a++) {
+            if (attackers[a].forced) {
+                continue;
+            }
+            List<Plan<boolean[]>> next = new ArrayList<>(beam);
+            for (Plan<boolean[]> plan : beam) {
+                boolean[] attacking = plan.assignment.clone();
+                attacking[a] = true;
+                next.add(new Plan<>(attacking, scoreAttack(attacking)));
+            }
+            next.sort(Comparator.comparingInt((Plan<boolean[]> plan) -> plan.score).reversed());
+            beam = next.subList(0, Math.min(ATTACK_BEAM_WIDTH, next.size()));
+        }
+
+        List<List<UUID>> candidates = new ArrayList<>();
+        boolean noAttackIncluded = false;
+        for (Plan<boolean[]> plan : beam) {
+            if (candidates.size() >= maxCandidates) {
+                break;
+            }
+            noAttackIncluded |= Arrays.equals(plan.assignment, forced);
+            candidates.add(getAttackerIds(plan.assignment));
+        }
+        if (!noAttackIncluded) {
+            candidates.add(getAttackerIds(forced));
+        }
+        return candidates;
+    }
+
+    /**
+     * Best blocks for the defender first, the blocks of illegal
+     * combinations (e.g. only one blocker for an attacker with menace) are
+     * removed.
+     *
+     * @param maxCandidates
+     * @return blocker id to the index of the blocked combat group for every
+     * candidate
+     */
+    public List<Map<UUID, Integer>> planBlocks(int maxCandidates) {
+        boolean[] attacking = new boolean[attackers.length];
+        Arrays.fill(attacking, true);
+        List<Map<UUID, Integer>> candidates = new ArrayList<>();
+        for (Plan<int[]> plan : searchBlocks(attacking, BLOCK_BEAM_WIDTH)) {
+            if (candidates.size() >= maxCandidates) {
+                break;
+            }
+            Map<UUID, Integer> blocks = new HashMap<>();
+            for (int b = 0; b < blockers.length; b++) {
+                if (plan.assignment[b] != NO_BLOCK) {
+                    blocks.put(blockers[b].id, plan.assignment[b]);
+                }
+            }
+            candidates.add(blocks);
+        }
+        return candidates;
+    }
+
+    private List<UUID> getAttackerIds(boolean[] attacking) {
+        List<UUID> ids = new ArrayList<>();
+        for (int a = 0; a < attackers.length; a++) {
+            if (attacking[a]) {
+                ids.add(attackers[a].id);
+            }
+        }
+        return ids;
+    }
+
+    private int scoreAttack(boolean[] attacking) {
+        List<Plan<int[]>> responses = searchBlocks(attacking, RESPONSE_BEAM_WIDTH);
+        return responses.get(0).score;
+    }
+
+    /**
+     * Assigns one blocker after the other, the defender keeps the blocks with
+     * the lowest score
+     */
+    private List<Plan<int[]>> searchBlocks(boolean[] attacking, int beamWidth) {
+        int[] noBlocks = new int[blockers.length];
+        Arrays.fill(noBlocks, NO_BLOCK);
+        Plan<int[]> noBlocksPlan = new Plan<>(noBlocks, evaluate(attacking, noBlocks));
+        List<Plan<int[]>> beam = new ArrayList<>();
+        beam.add(noBlocksPlan);
+        for (int b = 0; b < blockers.length; b++) {
+            List<Plan<int[]>> next = new ArrayList<>(beam);
+            for (Plan<int[]> plan : beam) {
+                for (int a = 0; a < attackers.length; a++) {
+                    if (attacking[a] && canBlock[b][a] && !isGroupFull(plan.assignment, a)) {
+                        int[] blocks = plan.assignment.clone();
+                        blocks[b] = a;
+                        next.add(new Plan<>(blocks, evaluate(attacking, blocks)));
+                    }
+                }
+            }
+            if (next.size() > beam.size()) {
+                next.sort(Comparator.comparingInt(plan -> plan.score));
+                beam = next.subList(0, Math.min(beamWidth, next.size()));
+            }
+        }
+        List<Plan<int[]>> legal = new ArrayList<>();
+        for (Plan<int[]> plan : beam) {
+            if (isLegal(plan.assignment)) {
+                legal.add(plan);
+            }
+        }
+        if (legal.isEmpty()) {
+            legal.add(noBlocksPlan);
+        }
+        return legal;
+    }
+
+    private boolean isGroupFull(int[] blocks, int attacker) {
+        int maxBlockedBy = attackers[attacker].maxBlockedBy;
+        return maxBlockedBy > 0 && countBlockers(blocks, attacker) >= maxBlockedBy;
+    }
+
+    private boolean isLegal(int[] blocks) {
+        for (int a = 0; a < attackers.length; a++) {
+            int count = countBlockers(blocks, a);
+            if (count > 0 && count < attackers[a].minBlockedBy) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countBlockers(int[] blocks, int attacker) {
+        int count = 0;
+        for (int block : blocks) {
+            if (block == attacker) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Score of the combat from the view of the attacking player: value of the
+     * killed creatures, life points and the risk of a lethal attack back on
+     * the next turn
+     */
+    private int evaluate(boolean[] attacking, int[] blocks) {
+        Arrays.fill(blockerDead, false);
+        int score = 0;
+        int playerDamage = 0;
+        int attackerLifeGain = 0;
+        int defenderLifeGain = 0;
+        int defendersNextTurn = otherDefenders;
+        for (int a = 0; a < attackers.length; a++) {
+            CombatCreature attacker = attackers[a];
+            if (!attacking[a]) {
+                defendersNextTurn++;
+                continue;
+            }
+            int size = 0;
+            for (int b = 0; b < blocks.length; b++) {
+                if (blocks[b] == a) {
+                    group[size++] = b;
+                }
+            }
+            if (size > 0 && size < attacker.minBlockedBy) {
+                // not a legal block (yet), these blockers are ignored
+                size = 0;
+            }
+
+            // first strike damage step and regular damage step
+            int attackerDamage = 0;
+            boolean attackerDeathtouched = false;
+            Arrays.fill(groupDamage, 0, size, 0);
+            for (int step = 0; step < 2; step++) {
+                boolean firstStrikeStep = step == 0;
+                boolean attackerAlive = !attacker.isDestroyed(attackerDamage, attackerDeathtouched);
+                int damageToAttacker = 0;
+                boolean deathtouchToAttacker = false;
+                for (int i = 0; i < size; i++) {
+                    CombatCreature blocker = blockers[group[i]];
+                    if (blocker.dealsDamage(firstStrikeStep) && !blocker.isDestroyed(groupDamage[i], attacker.deathtouch)) {
+                        damageToAttacker += blocker.power;
+                        deathtouchToAttacker |= blocker.deathtouch;
+                        if (blocker.lifelink) {
+                            defenderLifeGain += blocker.power;
+                        }
+                    }
+                }
+                if (attackerAlive && attacker.dealsDamage(firstStrikeStep)) {
+                    int dealt = attacker.power;
+                    if (size == 0) {
+                        playerDamage += dealt;
+                    } else {
+                        int remaining = attacker.power;
+                        int firstAlive = -1;
+                        for (int i = 0; i < size && remaining > 0; i++) {
+                            CombatCreature blocker = blockers[group[i]];
+                            if (blocker.isDestroyed(groupDamage[i], attacker.deathtouch)) {
+                                continue;
+                            }
+                            if (firstAlive < 0) {
+                                firstAlive = i;
+                            }
+                            int lethal = attacker.deathtouch ? 1 : Math.max(1, blocker.toughness - groupDamage[i]);
+                            int assigned = Math.min(remaining, lethal);
+                            groupDamage[i] += assigned;
+                            remaining -= assigned;
+                        }
+                        if (remaining > 0) {
+                            if (attacker.trample) {
+                                playerDamage += remaining;
+                            } else if (firstAlive >= 0) {
+                                groupDamage[firstAlive] += remaining;
+                            } else {
+                                // all blockers are gone, a blocked creature without trample deals no damage
+                                dealt -= remaining;
+                            }
+                        }
+                    }
+                    if (attacker.lifelink) {
+                        attackerLifeGain += dealt;
+                    }
+                }
+                attackerDamage += damageToAttacker;
+                attackerDeathtouched |= deathtouchToAttacker && damageToAttacker > 0;
+            }
+
+            boolean attackerDestroyed = attacker.isDestroyed(attackerDamage, attackerDeathtouched);
+            if (attackerDestroyed) {
+                score -= attacker.value;
+            } else if (attacker.vigilance) {
+                defendersNextTurn++;
+            }
+            for (int i = 0; i < size; i++) {
+                CombatCreature blocker = blockers[group[i]];
+                if (blocker.isDestroyed(groupDamage[i], attacker.deathtouch)) {
+                    blockerDead[group[i]] = true;
+                    score += blocker.value;
+                }
+            }
+        }
+
+        int defenderLife = defendingPlayerLife - playerDamage + defenderLifeGain;
+        if (playerDamage > 0 && defenderLife <= 0) {
+            return score + LETHAL_SCORE;
+        }
+        int attackerLife = attackingPlayerLife + attackerLifeGain;
+        score += ArtificialScoringSystem.getLifeScore(defendingPlayerLife) - ArtificialScoringSystem.getLifeScore(defenderLife);
+        score += ArtificialScoringSystem.getLifeScore(attackerLife) - ArtificialScoringSystem.getLifeScore(attackingPlayerLife);
+
+        if (crackBack != null && isLethalCrackBack(defendersNextTurn, attackerLife)) {
+            score -= LETHAL_SCORE / 2;
+        }
+        return score;
+    }
+
+    /**
+     * Every creature that stays back can block one of the strongest
+     * creatures attacking back, evasion is ignored
+     */
+    private boolean isLethalCrackBack(int defendersNextTurn, int attackerLife) {
+        int damage = 0;
+        int blocked = 0;
+        for (CombatCreature creature : crackBack) {
+            if (creature.blockerIndex >= 0 && blockerDead[creature.blockerIndex]) {
+                continue;
+            }
+            if (blocked < defendersNextTurn) {
+                blocked++;
+            } else {
+                damage += creature.power;
+            }
+        }
+        return damage >= attackerLife;
+    }
+
+    private static class Plan<T> {
+
+        private final T assignment;
+        private final int score;
+
+        Plan(T assignment, int score) {
+            this.assignment = assignment;
+            this.score = score;
+        }
+    }
+
+    private static class CombatCreature {
+
+        private final UUID id;
+        private final int power;
+        private final int toughness;
+        private final int value;
+        private final boolean firstStrike;
+        private final boolean doubleStrike;
+        private final boolean deathtouch;
+        private final boolean trample;
+        private final boolean lifelink;
+        private final boolean vigilance;
+        private final boolean indestructible;
+        private final int minBlockedBy;
+        private final int maxBlockedBy;
+        private boolean forced;
+        private int blockerIndex = -1;
+
+        CombatCreature(Permanent permanent, Game game) {
+            this.id = permanent.getId();
+            this.power = Math.max(0, permanent.getPower().getValue());
+            this.toughness = permanent.getToughness().getValue() - permanent.getDamage();
+            this.value = ArtificialScoringSystem.getFixedPermanentScore(game, permanent)
+                    + ArtificialScoringSystem.getVariablePermanentScore(game, permanent);
+            this.firstStrike = permanent.getAbilities().containsKey(FirstStrikeAbility.getInstance().getId());
+            this.doubleStrike = permanent.getAbilities().containsKey(DoubleStrikeAbility.getInstance().getId());
+            this.deathtouch = permanent.getAbilities().containsKey(DeathtouchAbility.getInstance().getId());
+            this.trample = permanent.getAbilities().containsKey(TrampleAbility.getInstance().getId());
+            this.lifelink = permanent.getAbilities().containsKey(LifelinkAbility.getInstance().getId());
+            this.vigilance = permanent.getAbilities().containsKey(VigilanceAbility.getInstance().getId());
+            this.indestructible = permanent.getAbilities().containsKey(IndestructibleAbility.getInstance().getId());
+            this.minBlockedBy = permanent.getMinBlockedBy();
+            this.maxBlockedBy = permanent.getMaxBlockedBy();
+        }
+
+        /**
+         * Combat group without attacker (e.g. removed from combat)
+         */
+        CombatCreature() {
+            this.id = null;
+            this.power = 0;
+            this.toughness = 1;
+            this.value = 0;
+            this.firstStrike = false;
+            this.doubleStrike = false;
+            this.deathtouch = false;
+            this.trample = false;
+            this.lifelink = false;
+            this.vigilance = false;
+            this.indestructible = true;
+            this.minBlockedBy = 1;
+            this.maxBlockedBy = 0;
+        }
+
+        boolean dealsDamage(boolean firstStrikeStep) {
+            if (power <= 0) {
+                return false;
+            }
+            if (firstStrikeStep) {
+                return firstStrike || doubleStrike;
+            }
+            return !firstStrike || doubleStrike;
+        }
+
+        boolean isDestroyed(int damage, boolean deathtouchDamage) {
+            if (indestructible) {
+                return false;
+            }
+            return damage >= toughness || (deathtouchDamage && damage > 0);
+        }
+    }
+}
@@ -100,10 +100,13 @@ import mage.player.ai.ma.optimizers.impl.OutcomeOptimizer;
 import mage.player.ai.util.CombatInfo;
 import mage.player.ai.util.CombatUtil;
 import mage.players.Player;
+import mage.players.ai.AiGovernor;
 import mage.target.Target;
 import mage.target.TargetCard;
 import mage.target.Targets;
 import mage.util.RandomUtil;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
 import org.apache.log4j.Logger;
 
 /**
@@ -117,6 +120,9 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
     protected int maxDepth;
     protected int maxNodes;
     protected int maxThink;
+    // iterative search running on the current thread, a search that timed out
+    // can still run in the pool while the next decision is made
+    private static final ThreadLocal<IterativeSearch> runningSearch = new ThreadLocal<>();
     protected LinkedList<Ability> actions = new LinkedList<>();
     protected List<UUID> targets = new ArrayList<>();
     protected List<String> choices = new ArrayList<>();
@@ -375,13 +381,14 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
         logger.trace("Sim minimaxAB [" + depth + "] -- a: " + alpha + " b: " + beta + " <" + (node != null ? node.getScore() : "null") + '>');
         UUID currentPlayerId = node.getGame().getPlayerList().get();
         SimulationNode2 bestChild = null;
+        int searchNodes = getSearchNodes();
         for (SimulationNode2 child : node.getChildren()) {
             Combat _combat = child.getCombat();
             if (alpha >= beta) {
                 //logger.info("alpha beta pruning");
                 break;
             }
-            if (SimulationNode2.nodeCount > maxNodes) {
+            if (SimulationNode2.nodeCount > searchNodes) {
                 //logger.info("simulating -- reached end-state, count=" + SimulationNode2.nodeCount);
                 break;
             }
@@ -471,25 +478,31 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
     }
 
     /**
-     * Base call for simulation of AI actions
+     * Base call for simulation of AI actions. Searches the root with
+     * increasing depth until maxDepth is reached or the time is up, the root is
+     * replaced by the root of the deepest completed search.
      *
      * @return
      */
     protected Integer addActionsTimed() {
+        long start = EngineMetrics.start();
+        AiGovernor.Budget budget = AiGovernor.instance.startSearch(1, maxThink * 1000L, maxNodes);
+        final Game sim = root.getGame();
+        final IterativeSearch search = new IterativeSearch(root, budget.getMaxNodes());
         FutureTask<Integer> task = new FutureTask<>(new Callable<Integer>() {
             @Override
             public Integer call() throws Exception {
-                return addActions(root, maxDepth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                return addActionsIterative(sim, search);
             }
         });
         pool.execute(task);
         try {
-            int maxSeconds = maxThink;
+            long maxMillis = budget.getThinkMillis();
             if (!ALLOW_INTERRUPT) {
-                maxSeconds = 3600;
+                maxMillis = 3600 * 1000L;
             }
-            logger.debug("maxThink: " + maxSeconds + " seconds ");
-            return task.get(maxSeconds, TimeUnit.SECONDS);
+            logger.debug("maxThink: " + maxMillis + " ms (load scale " + budget.getScale() + ')');
+            return task.get(maxMillis, TimeUnit.MILLISECONDS);
         } catch (TimeoutException e) {
             logger.info("simulating - timed out");
             task.cancel(true);
@@ -502,9 +515,126 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
         } catch (Exception e) {
             e.printStackTrace();
             task.cancel(true);
+        } finally {
+            // use the deepest completed search, the running one only if no search was completed
+            root = search.completedRoot != null ? search.completedRoot : search.searchRoot;
+            sim.getMetrics().stop(EngineMetric.AI_SEARCH, start);
+            AiGovernor.instance.finishSearch(budget);
         }
-        //TODO: timeout handling
-        return 0;
+        return root.getScore();
+    }
+
+    /**
+     * Iterative deepening: searches with depth 1, 2, ... maxDepth. Every
+     * iteration can create the whole node budget. Every completed search is
+     * kept, the search with the next depth tries the actions of its best line
+     * first. An iteration that reaches the node limit ends the search, its
+     * result is used if it found a best line, as the actions of the previous
+     * best line were searched first.
+     *
+     * @param sim
+     * @param search
+     * @return score of the deepest completed search
+     */
+    protected int addActionsIterative(Game sim, IterativeSearch search) {
+        runningSearch.set(search);
+        int val = 0;
+        try {
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                search.depth = depth;
+                SimulationNode2.resetCount();
+                SimulationNode2 node = new SimulationNode2(null, depth == maxDepth ? sim : sim.copy(), depth, playerId);
+                search.searchRoot = node;
+                int depthVal = addActions(node, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                if (Thread.currentThread().isInterrupted()) {
+                    logger.debug("Iterative search -- interrupted at depth " + depth);
+                    break;
+                }
+                boolean nodeLimit = SimulationNode2.nodeCount > search.maxNodes;
+                if (nodeLimit && node.getChildren().isEmpty() && search.completedRoot != null) {
+                    logger.debug("Iterative search -- node limit reached at depth " + depth + " without a result");
+                    break;
+                }
+                val = depthVal;
+                search.completedRoot = node;
+                search.updatePrincipalVariation(node);
+                if (nodeLimit || val == GameStateEvaluator2.WIN_GAME_SCORE) {
+                    logger.debug("Iterative search -- ended at depth " + depth + (nodeLimit ? ", node limit reached" : ""));
+                    break;
+                }
+            }
+        } finally {
+            runningSearch.remove();
+        }
+        return val;
+    }
+
+    /**
+     * @return depth of the running iteration of the iterative search, the max
+     * depth if no iterative search runs on this thread
+     */
+    protected int getSearchDepth() {
+        IterativeSearch search = runningSearch.get();
+        return search != null ? search.depth : maxDepth;
+    }
+
+    /**
+     * @return node limit of the running search, set by the AI governor
+     */
+    protected int getSearchNodes() {
+        IterativeSearch search = runningSearch.get();
+        return search != null ? search.maxNodes : maxNodes;
+    }
+
+    /**
+     * State of one iterative search. The roots are read by the deciding
+     * thread, the rest is only used by the thread that runs the search.
+     */
+    protected static class IterativeSearch {
+
+        private volatile SimulationNode2 completedRoot;
+        private volatile SimulationNode2 searchRoot;
+        private final int maxNodes;
+        private int depth;
+        // keys of the actions of the best line of the last completed iteration by ply, they are searched first
+        private final List<Set<String>> principalVariation = new ArrayList<>();
+
+        IterativeSearch(SimulationNode2 root, int maxNodes) {
+            this.searchRoot = root;
+            this.maxNodes = maxNodes;
+        }
+
+        private void updatePrincipalVariation(SimulationNode2 node) {
+            principalVariation.clear();
+            while (!node.getChildren().isEmpty()) {
+                node = node.getChildren().get(0);
+                if (node.getAbilities() != null) {
+                    int ply = depth - node.getDepth();
+                    while (principalVariation.size() <= ply) {
+                        principalVariation.add(new HashSet<>());
+                    }
+                    for (Ability ability : node.getAbilities()) {
+                        principalVariation.get(ply).add(getActionKey(ability));
+                    }
+                }
+            }
+        }
+
+        /**
+         * @param ply
+         * @return keys of the actions of the best line at the ply
+         */
+        private Set<String> getPrincipalVariation(int ply) {
+            return ply >= 0 && ply < principalVariation.size() ? principalVariation.get(ply) : Collections.emptySet();
+        }
+    }
+
+    private static String getActionKey(Ability ability) {
+        StringBuilder sb = new StringBuilder(ability.getSourceId() + ability.getRule());
+        for (Target target : ability.getTargets()) {
+            sb.append(target.getTargets());
+        }
+        return sb.toString();
     }
 
     protected int addActions(SimulationNode2 node, int depth, int alpha, int beta) {
@@ -519,7 +649,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
             logger.trace("interrupted - " + val);
             return val;
         }
-        if (depth <= 0 || SimulationNode2.nodeCount > maxNodes || game.gameOver(null)) {
+        if (depth <= 0 || SimulationNode2.nodeCount > getSearchNodes() || game.gameOver(null)) {
             logger.trace("Add actions -- reached end state, node count=" + SimulationNode2.nodeCount + ", depth=" + depth);
             val = GameStateEvaluator2.evaluate(playerId, game);
             UUID currentPlayerId = node.getGame().getPlayerList().get();
@@ -563,12 +693,29 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
             return GameStateEvaluator2.evaluate(playerId, game);
         }
         node.setGameValue(game.getState().getValue(true).hashCode());
+        IterativeSearch search = runningSearch.get();
+        int searchDepth = search != null ? search.depth : maxDepth;
+        int searchNodes = search != null ? search.maxNodes : maxNodes;
         SimulatedPlayer2 currentPlayer = (SimulatedPlayer2) game.getPlayer(game.getPlayerList().get());
         //logger.info("Sim Prio -- player " + currentPlayer.getName());
         SimulationNode2 bestNode = null;
         List<Ability> allActions = currentPlayer.simulatePriority(game);
         optimize(game, allActions);
-        if (logger.isInfoEnabled() && !allActions.isEmpty() && depth == maxDepth) {
+        Set<String> principalVariation = search != null ? search.getPrincipalVariation(searchDepth - depth) : Collections.<String>emptySet();
+        if (!principalVariation.isEmpty()) {
+            // best actions of the previous iteration at this ply first, the key of each action is built only once
+            List<Ability> principalActions = new ArrayList<>();
+            List<Ability> otherActions = new ArrayList<>();
+            for (Ability action : allActions) {
+                (principalVariation.contains(getActionKey(action)) ? principalActions : otherActions).add(action);
+            }
+            if (!principalActions.isEmpty()) {
+                allActions.clear();
+                allActions.addAll(principalActions);
+                allActions.addAll(otherActions);
+            }
+        }
+        if (logger.isInfoEnabled() && !allActions.isEmpty() && depth == searchDepth) {
             logger.info("ADDED ACTIONS (" + allActions.size() + ") " + ' ' + allActions);
         }
         int counter = 0;
@@ -606,8 +753,8 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                 } else {
                     val = addActions(newNode, depth - 1, alpha, beta);
                 }
-                logger.debug("Sim Prio " + BLANKS.substring(0, 2 + (maxDepth - depth) * 3) + '[' + depth + "]#" + counter + " <" + val + "> - (" + action.toString() + ") ");
-                if (logger.isInfoEnabled() && depth >= maxDepth) {
+                logger.debug("Sim Prio " + BLANKS.substring(0, 2 + (searchDepth - depth) * 3) + '[' + depth + "]#" + counter + " <" + val + "> - (" + action.toString() + ") ");
+                if (logger.isInfoEnabled() && depth >= searchDepth) {
                     StringBuilder sb = new StringBuilder("Sim Prio [").append(depth).append("] #").append(counter)
                             .append(" <").append(val).append("> (").append(action)
                             .append(action.isModal() ? " Mode = " + action.getModes().getMode().toString() : "")
@@ -627,10 +774,10 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                     if (val > bestValSubNodes) {
                         bestValSubNodes = val;
                     }
-                    if (depth == maxDepth && action instanceof PassAbility) {
+                    if (depth == searchDepth && action instanceof PassAbility) {
                         val = val - PASSIVITY_PENALTY; // passivity penalty
                     }
-                    if (val > alpha || (depth == maxDepth && val == alpha && RandomUtil.nextBoolean())) { // Adding random for equal value to get change sometimes
+                    if (val > alpha || (depth == searchDepth && val == alpha && RandomUtil.nextBoolean())) { // Adding random for equal value to get change sometimes
                         alpha = val;
                         bestNode = newNode;
                         bestNode.setScore(val);
@@ -642,7 +789,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                          * node.getTargets(); if (node.getChoices().size() > 0)
                          * choices = node.getChoices();
                          */
-                        if (depth == maxDepth) {
+                        if (depth == searchDepth) {
                             logger.info("Sim Prio [" + depth + "] -- Saved best node yet <" + bestNode.getScore() + "> " + bestNode.getAbilities().toString());
                             node.children.clear();
                             node.children.add(bestNode);
@@ -675,13 +822,13 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                     //logger.info("Sim Prio -- pruning");
                     break;
                 }
-                if (SimulationNode2.nodeCount > maxNodes) {
+                if (SimulationNode2.nodeCount > searchNodes) {
                     logger.debug("Sim Prio -- reached end-state");
                     break;
                 }
             }
         } // end of for (allActions)
-        if (depth == maxDepth) {
+        if (depth == searchDepth) {
             logger.info(new StringBuilder("Sim Prio [").append(depth).append("] -- End for Max Depth  -- Nodes calculated: ").append(SimulationNode2.nodeCount));
         }
         if (bestNode != null) {
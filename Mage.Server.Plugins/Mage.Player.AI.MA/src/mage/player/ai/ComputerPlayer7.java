@@ -233,7 +233,7 @@ public class ComputerPlayer7 extends ComputerPlayer6 {
             return GameStateEvaluator2.evaluate(playerId, game);
         }
         // Condition to stop deeper simulation
-        if (depth <= 0 || SimulationNode2.nodeCount > maxNodes || game.gameOver(null)) {
+        if (depth <= 0 || SimulationNode2.nodeCount > getSearchNodes() || game.gameOver(null)) {
             val = GameStateEvaluator2.evaluate(playerId, game);
             if (logger.isTraceEnabled()) {
                 StringBuilder sb = new StringBuilder("Add Actions -- reached end state  <").append(val).append('>');
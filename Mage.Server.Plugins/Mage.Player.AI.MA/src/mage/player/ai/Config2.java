@@ -50,6 +50,7 @@ public final class Config2 {
     public static final int evaluatorPermanentFactor;
     public static final int evaluatorCreatureFactor;
     public static final int evaluatorHandFactor;
+    public static final int maxCombatCandidates;
 //    public static final int maxThinkSeconds;
 
     static {
@@ -66,6 +67,7 @@ public final class Config2 {
                 p.setProperty("evaluatorPermanentFactor", "1");
                 p.setProperty("evaluatorCreatureFactor", "1");
                 p.setProperty("evaluatorHandFactor", "1");
+                p.setProperty("maxCombatCandidates", "8");
 //                p.setProperty("maxThinkSeconds", "30");
             }
         } catch (IOException ex) {
@@ -79,6 +81,7 @@ public final class Config2 {
         evaluatorPermanentFactor = Integer.parseInt(p.getProperty("evaluatorPermanentFactor"));
         evaluatorCreatureFactor = Integer.parseInt(p.getProperty("evaluatorCreatureFactor"));
         evaluatorHandFactor = Integer.parseInt(p.getProperty("evaluatorHandFactor"));
+        maxCombatCandidates = Integer.parseInt(p.getProperty("maxCombatCandidates", "8"));
 //        maxThinkSeconds = Integer.parseInt(p.getProperty("maxThinkSeconds"));
     }
 
@@ -326,10 +326,38 @@ public class SimulatedPlayer2 extends ComputerPlayer {
     }
 
     public List<Combat> addAttackers(Game game) {
-        Map<Integer, Combat> engagements = new HashMap<>();
+        Map<Integer, Combat> engagements = new LinkedHashMap<>();
         //useful only for two player games - will only attack first opponent
         UUID defenderId = game.getOpponents(playerId).iterator().next();
         List<Permanent> attackersList = super.getAvailableAttackers(defenderId, game);
+        if (CombatPlanner.hasBlockRequirements(game, game.getPlayer(defenderId).getAvailableBlockers(game))) {
+            // the combat model can't answer with the blocks the defender has to declare
+            return addAllAttackers(game, defenderId, attackersList);
+        }
+        CombatPlanner planner = CombatPlanner.forAttack(game, playerId, defenderId, attackersList);
+        for (List<UUID> attackers : planner.planAttacks(Config2.maxCombatCandidates)) {
+            Game sim = game.copy();
+            for (UUID attackerId : attackers) {
+                setStoredBookmark(sim.bookmarkState()); // makes it possible to UNDO a declared attacker with costs from e.g. Propaganda
+                if (!sim.getCombat().declareAttacker(attackerId, defenderId, playerId, sim)) {
+                    sim.undo(playerId);
+                }
+            }
+            if (engagements.put(sim.getCombat().getValue().hashCode(), sim.getCombat()) != null) {
+                logger.debug("simulating -- found redundant attack combination");
+            } else {
+                logger.debug("simulating -- attack:" + sim.getCombat().getGroups().size());
+            }
+        }
+        // best attacks first
+        return new ArrayList<>(engagements.values());
+    }
+
+    /**
+     * Every combination of the available attackers
+     */
+    protected List<Combat> addAllAttackers(Game game, UUID defenderId, List<Permanent> attackersList) {
+        Map<Integer, Combat> engagements = new HashMap<>();
         //use binary digits to calculate powerset of attackers
         int powerElements = (int) Math.pow(2, attackersList.size());
         StringBuilder binary = new StringBuilder();
@@ -354,7 +382,7 @@ public class SimulatedPlayer2 extends ComputerPlayer {
                 logger.debug("simulating -- attack:" + sim.getCombat().getGroups().size());
             }
         }
-        List list = new ArrayList<>(engagements.values());
+        List<Combat> list = new ArrayList<>(engagements.values());
         Collections.sort(list, new Comparator<Combat>() {
             @Override
             public int compare(Combat o1, Combat o2) {
@@ -365,7 +393,7 @@ public class SimulatedPlayer2 extends ComputerPlayer {
     }
 
     public List<Combat> addBlockers(Game game) {
-        Map<Integer, Combat> engagements = new HashMap<>();
+        Map<Integer, Combat> engagements = new LinkedHashMap<>();
         int numGroups = game.getCombat().getGroups().size();
         if (numGroups == 0) {
             return Collections.emptyList();
@@ -377,7 +405,24 @@ public class SimulatedPlayer2 extends ComputerPlayer {
         sim.fireEvent(GameEvent.getEvent(GameEvent.EventType.DECLARED_BLOCKERS, playerId, playerId));
 
         List<Permanent> blockers = getAvailableBlockers(game);
-        addBlocker(game, blockers, engagements);
+        if (CombatPlanner.hasBlockRequirements(game, blockers)) {
+            // blocks the game requires (e.g. Lure) are not part of the combat model
+            addBlocker(game, blockers, engagements);
+            return new ArrayList<>(engagements.values());
+        }
+        CombatPlanner planner = CombatPlanner.forBlock(game, playerId, blockers);
+        for (Map<UUID, Integer> blocks : planner.planBlocks(Config2.maxCombatCandidates)) {
+            if (blocks.isEmpty()) {
+                continue;
+            }
+            sim = game.copy();
+            for (Map.Entry<UUID, Integer> block : blocks.entrySet()) {
+                sim.getCombat().getGroups().get(block.getValue()).addBlocker(block.getKey(), playerId, sim);
+            }
+            if (engagements.put(sim.getCombat().getValue().hashCode(), sim.getCombat()) != null) {
+                logger.debug("simulating -- found redundant block combination");
+            }
+        }
 
         return new ArrayList<>(engagements.values());
     }
@@ -4,13 +4,20 @@ import mage.abilities.Ability;
 import mage.abilities.effects.Effect;
 import mage.abilities.keyword.HasteAbility;
 import mage.cards.Card;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
 import mage.constants.CardType;
 import mage.constants.Outcome;
 import mage.counters.CounterType;
+import mage.counters.Counters;
 import mage.game.Game;
 import mage.game.permanent.Permanent;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import mage.constants.SubType;
 
 /**
@@ -27,29 +34,20 @@ public final class ArtificialScoringSystem {
     private static final int PERMANENT_SCORE = 300;
     private static final int LIFE_ABOVE_MULTIPLIER = 100;
 
-    public static int getCardDefinitionScore(final Game game, final Card card) {
-        int value = 3; //TODO: add new rating system card value
-        if (card.isLand()) {
-            int score = (int) ((value / 2.0f) * 50);
-            //TODO: check this for "any color" lands
-            //TODO: check this for dual and filter lands
-            /*for (Mana mana : card.getMana()) {
-             score += 50;
-             }*/
-            score += card.getMana().size() * 50;
-            return score;
-        }
+    /**
+     * Scores of the card definitions by card name, the static part of a card
+     * score is calculated only once from the printed card instead of on every
+     * evaluated game state
+     */
+    private static final Map<String, CardDefinitionScore> definitionScores = new ConcurrentHashMap<>();
+    // names without a printed card (tokens), their score is calculated from the object in the game
+    private static final Set<String> unprintedNames = ConcurrentHashMap.newKeySet();
 
-        final int score = value * 100 - card.getManaCost().convertedManaCost() * 20;
-        if (card.getCardType().contains(CardType.CREATURE)) {
-            return score + (card.getPower().getValue() + card.getToughness().getValue()) * 10;
-        } else {
-            return score + (/*card.getRemoval()*50*/+card.getRarity().getRating() * 30);
-        }
+    public static int getCardDefinitionScore(final Game game, final Card card) {
+        return getDefinitionScore(card).getScore(card);
     }
 
     public static int getFixedPermanentScore(final Game game, final Permanent permanent) {
-        //TODO: cache it inside Card
         int score = getCardDefinitionScore(game, permanent);
         score += PERMANENT_SCORE;
         if (permanent.getCardType().contains(CardType.CREATURE)) {
@@ -64,10 +62,84 @@ public final class ArtificialScoringSystem {
         return score;
     }
 
+    private static CardDefinitionScore getDefinitionScore(final Card card) {
+        String name = card.getName();
+        if (name == null || name.isEmpty() || unprintedNames.contains(name)) {
+            // face down, token or nameless object
+            return new CardDefinitionScore(card);
+        }
+        CardDefinitionScore score = definitionScores.get(name);
+        if (score == null) {
+            // the object in the game can be changed by effects (e.g. lands by Blood Moon), so the printed card is used
+            Card printedCard = getPrintedCard(name);
+            if (printedCard == null) {
+                unprintedNames.add(name);
+                return new CardDefinitionScore(card);
+            }
+            score = new CardDefinitionScore(printedCard);
+            definitionScores.putIfAbsent(name, score);
+        }
+        return score;
+    }
+
+    private static Card getPrintedCard(String name) {
+        List<CardInfo> cards = CardRepository.instance.findCards(name);
+        if (cards.isEmpty()) {
+            return null;
+        }
+        return cards.get(0).getCard();
+    }
+
+    /**
+     * Parts of the card score that only depend on the printed card. Power,
+     * toughness and the creature type can be changed by effects, so they are
+     * added to the score on every call.
+     */
+    private static final class CardDefinitionScore {
+
+        private final boolean land;
+        private final int landScore;
+        private final int baseScore;
+        private final int rarityScore;
+
+        CardDefinitionScore(final Card card) {
+            int value = 3; //TODO: add new rating system card value
+            this.land = card.isLand();
+            if (land) {
+                int score = (int) ((value / 2.0f) * 50);
+                //TODO: check this for "any color" lands
+                //TODO: check this for dual and filter lands
+                /*for (Mana mana : card.getMana()) {
+                 score += 50;
+                 }*/
+                score += card.getMana().size() * 50;
+                this.landScore = score;
+                this.baseScore = 0;
+                this.rarityScore = 0;
+            } else {
+                this.landScore = 0;
+                this.baseScore = value * 100 - card.getManaCost().convertedManaCost() * 20;
+                this.rarityScore = /*card.getRemoval()*50*/+card.getRarity().getRating() * 30;
+            }
+        }
+
+        int getScore(final Card card) {
+            if (land) {
+                return landScore;
+            }
+            if (card.getCardType().contains(CardType.CREATURE)) {
+                return baseScore + (card.getPower().getValue() + card.getToughness().getValue()) * 10;
+            } else {
+                return baseScore + rarityScore;
+            }
+        }
+    }
+
     public static int getVariablePermanentScore(final Game game, final Permanent permanent) {
 
-        int score = permanent.getCounters(game).getCount(CounterType.CHARGE) * 30;
-        score += permanent.getCounters(game).getCount(CounterType.LEVEL) * 30;
+        Counters counters = permanent.getCounters(game);
+        int score = counters.getCount(CounterType.CHARGE) * 30;
+        score += counters.getCount(CounterType.LEVEL) * 30;
         score -= permanent.getDamage() * 2;
         if (!canTap(permanent)) {
             score += getTappedScore(permanent);
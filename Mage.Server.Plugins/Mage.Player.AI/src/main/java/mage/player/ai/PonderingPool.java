@@ -0,0 +1,78 @@
+package mage.player.ai;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Threads the AI players use to think on the time of their opponents
+ * (pondering). The threads are shared by all AI players of the server, so
+ * pondering never uses more than the configured number of threads no matter
+ * how many AI games are running.
+ *
+ * Pondering is disabled by default, it's enabled with the system property
+ * xmage.ai.ponderingThreads (e.g. -Dxmage.ai.ponderingThreads=2).
+ */
+public enum PonderingPool {
+    instance;
+
+    private final int maxThreads = Math.max(0, Integer.getInteger("xmage.ai.ponderingThreads", 0));
+    private final Semaphore threads = new Semaphore(maxThreads);
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "AI pondering");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    public boolean isEnabled() {
+        return maxThreads > 0;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getActiveThreads() {
+        return maxThreads - threads.availablePermits();
+    }
+
+    /**
+     * Reserves up to the wanted number of threads without waiting
+     *
+     * @param wanted
+     * @return number of reserved threads, every one must be used by
+     * {@link #submit(Callable)} or given back by {@link #release(int)}
+     */
+    public int tryAcquire(int wanted) {
+        int acquired = 0;
+        while (acquired < wanted && threads.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    public void release(int count) {
+        threads.release(count);
+    }
+
+    /**
+     * Runs the task on one of the threads reserved by
+     * {@link #tryAcquire(int)}, the thread is given back when the task ends
+     *
+     * @param <T>
+     * @param task
+     * @return
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(() -> {
+            try {
+                return task.call();
+            } finally {
+                threads.release();
+            }
+        });
+    }
+}
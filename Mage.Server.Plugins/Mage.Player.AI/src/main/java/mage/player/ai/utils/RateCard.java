@@ -13,6 +13,7 @@ import org.apache.log4j.Logger;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import mage.constants.SubType;
 
 /**
@@ -24,7 +25,7 @@ import mage.constants.SubType;
 public final class RateCard {
 
     private static Map<String, Integer> ratings;
-    private static final Map<String, Integer> rated = new HashMap<>();
+    private static final Map<String, RatedCard> rated = new ConcurrentHashMap<>();
     private static Integer min = Integer.MAX_VALUE, max = 0;
 
     /**
@@ -44,37 +45,40 @@ public final class RateCard {
     /**
      * Get absolute score of the card.
      * Depends on type, manacost, rating.
-     * If allowedColors is null then the rating is retrieved from the cache
+     * The parts that don't depend on the allowed colors are calculated only
+     * once per card name.
      *
      * @param card
      * @param allowedColors
      * @return
      */
     public static int rateCard(Card card, List<ColoredManaSymbol> allowedColors) {
-        if (allowedColors == null && rated.containsKey(card.getName())) {
-            int rate = rated.get(card.getName());
-//            log.info(card.getName() + " rate: " + rate);
-            return rate;
+        return getRatedCard(card).getScore(allowedColors);
+    }
+
+    private static RatedCard getRatedCard(Card card) {
+        RatedCard ratedCard = rated.get(card.getName());
+        if (ratedCard == null) {
+            ratedCard = new RatedCard(card);
+            rated.putIfAbsent(card.getName(), ratedCard);
         }
-        int type;
+        return ratedCard;
+    }
+
+    private static int getTypeScore(Card card) {
         if (card.isPlaneswalker()) {
-            type = 15;
+            return 15;
         } else if (card.isCreature()) {
-            type = 10;
+            return 10;
         } else if (card.getSubtype(null).contains(SubType.EQUIPMENT)) {
-            type = 8;
+            return 8;
         } else if (card.getSubtype(null).contains(SubType.AURA)) {
-            type = 5;
+            return 5;
         } else if (card.isInstant()) {
-            type = 7;
+            return 7;
         } else {
-            type = 6;
+            return 6;
         }
-        int score = 10 * getCardRating(card) + 2 * type + getManaCostScore(card, allowedColors)
-                + 40 * isRemoval(card);
-        if (allowedColors == null)
-            rated.put(card.getName(), score);
-        return score;
     }
 
     private static int isRemoval(Card card) {
@@ -168,6 +172,7 @@ public final class RateCard {
     }
 
     private static final int SINGLE_PENALTY[] = {0, 1, 1, 3, 6, 9};
+    private static final ColoredManaSymbol[] COLORS = {ColoredManaSymbol.W, ColoredManaSymbol.U, ColoredManaSymbol.B, ColoredManaSymbol.R, ColoredManaSymbol.G};
 
     /**
      * Get manacost score.
@@ -179,43 +184,22 @@ public final class RateCard {
      * @param allowedColors Can be null.
      * @return
      */
-    private static int getManaCostScore(Card card, List<ColoredManaSymbol> allowedColors) {
-        int converted = card.getManaCost().convertedManaCost();
+    private static int getManaCostScore(RatedCard card, List<ColoredManaSymbol> allowedColors) {
         if (allowedColors == null) {
-            int colorPenalty = 0;
-            for (String symbol : card.getManaCost().getSymbols()) {
-                if (isColoredMana(symbol)) {
-                     colorPenalty++;
-                }
-            }
-            return 2 * (converted - colorPenalty + 1);
+            return 2 * (card.converted - card.colorManaCount + 1);
         }
-        final Map<String, Integer> singleCount = new HashMap<>();
         int maxSingleCount = 0;
-        for (String symbol : card.getManaCost().getSymbols()) {
-            int count = 0;
-            symbol = symbol.replace("{", "").replace("}", "");
-            if (isColoredMana(symbol)) {
-                for (ColoredManaSymbol allowed : allowedColors) {
-                    if (allowed.toString().equals(symbol)) {
-                        count++;
-                    }
-                }
-                if (count == 0) {
+        for (int i = 0; i < card.singleCount.length; i++) {
+            if (card.singleCount[i] > 0) {
+                if (!allowedColors.contains(COLORS[i])) {
                     return -100;
                 }
-                Integer typeCount = singleCount.get(symbol);
-                if (typeCount == null) {
-                    typeCount = new Integer(0);
-                }
-                typeCount += 1;
-                singleCount.put(symbol, typeCount);
-                maxSingleCount = Math.max(maxSingleCount, typeCount);
+                maxSingleCount = Math.max(maxSingleCount, card.singleCount[i]);
             }
         }
         if (maxSingleCount > 5)
             maxSingleCount = 5;
-        return 2 * converted + 3 * (10 - SINGLE_PENALTY[maxSingleCount]/*-DOUBLE_PENALTY[doubleCount]*/);
+        return 2 * card.converted + 3 * (10 - SINGLE_PENALTY[maxSingleCount]/*-DOUBLE_PENALTY[doubleCount]*/);
     }
 
     /**
@@ -241,13 +225,7 @@ public final class RateCard {
      * @return
      */
     public static int getColorManaCount(Card card) {
-        int count = 0;
-        for (String symbol : card.getManaCost().getSymbols()) {
-            if (isColoredMana(symbol)) {
-                count++;
-            }
-        }
-        return count;
+        return getRatedCard(card).colorManaCount;
     }
 
     /**
@@ -256,12 +234,46 @@ public final class RateCard {
      * @return
      */
     public static int getDifferentColorManaCount(Card card) {
-        Set<String> symbols = new HashSet<>();
-        for (String symbol : card.getManaCost().getSymbols()) {
-            if (isColoredMana(symbol)) {
-                symbols.add(symbol);
+        return getRatedCard(card).differentColorManaCount;
+    }
+
+    /**
+     * Parts of the card score that don't depend on the allowed colors.
+     */
+    private static final class RatedCard {
+
+        private final int baseScore;
+        private final int converted;
+        private final int colorManaCount;
+        private final int differentColorManaCount;
+        // number of mana symbols of each color, in the order of COLORS
+        private final int[] singleCount = new int[COLORS.length];
+
+        RatedCard(Card card) {
+            this.baseScore = 10 * getCardRating(card) + 2 * getTypeScore(card) + 40 * isRemoval(card);
+            this.converted = card.getManaCost().convertedManaCost();
+            int count = 0;
+            int different = 0;
+            for (String symbol : card.getManaCost().getSymbols()) {
+                if (isColoredMana(symbol)) {
+                    count++;
+                    ColoredManaSymbol color = ColoredManaSymbol.lookup(symbol.replace("{", "").replace("}", "").charAt(0));
+                    for (int i = 0; i < COLORS.length; i++) {
+                        if (COLORS[i] == color) {
+                            if (singleCount[i] == 0) {
+                                different++;
+                            }
+                            singleCount[i]++;
+                        }
+                    }
+                }
             }
+            this.colorManaCount = count;
+            this.differentColorManaCount = different;
+        }
+
+        int getScore(List<ColoredManaSymbol> allowedColors) {
+            return baseScore + getManaCostScore(this, allowedColors);
         }
-        return symbols.size();
     }
 }
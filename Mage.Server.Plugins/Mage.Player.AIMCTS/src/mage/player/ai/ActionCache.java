@@ -0,0 +1,167 @@
+package mage.player.ai;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the actions available in a game state, shared by all MCTS
+ * players and their executor threads.
+ *
+ * The states are keyed by two 64 bit hashes of the full state value instead of
+ * the string itself. The size of an entry is the number of cached actions, the
+ * least recently used entries are evicted when the total size exceeds the
+ * limit.
+ *
+ * @param <V> list of actions
+ */
+public class ActionCache<V extends Collection<?>> {
+
+    private final String name;
+    private final long maxSize;
+    private final LinkedHashMap<StateKey, V> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private long size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ActionCache(String name, long maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached actions of the state, the loader is called without
+     * holding a lock if the state is not cached yet
+     *
+     * @param state full state value of the game
+     * @param turnNum
+     * @param loader
+     * @return
+     */
+    public V get(String state, int turnNum, Supplier<V> loader) {
+        StateKey key = new StateKey(state, turnNum);
+        synchronized (this) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+        }
+        misses.increment();
+        V value = loader.get();
+        synchronized (this) {
+            V previous = entries.putIfAbsent(key, value);
+            if (previous != null) {
+                // another thread loaded the same state
+                return previous;
+            }
+            size += getSize(value);
+            Iterator<V> iterator = entries.values().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                size -= getSize(iterator.next());
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the states of the turns before turnNum
+     *
+     * @param turnNum
+     * @return number of removed entries
+     */
+    public synchronized int removeTurnsBefore(int turnNum) {
+        int count = 0;
+        Iterator<Map.Entry<StateKey, V>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<StateKey, V> entry = iterator.next();
+            if (entry.getKey().turnNum < turnNum) {
+                size -= getSize(entry.getValue());
+                iterator.remove();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long getSize(Collection<?> value) {
+        return 1 + value.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public synchronized int getEntries() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s Cache -- Hits: %d Misses: %d Hit rate: %.1f%% Entries: %d Size: %d/%d Evictions: %d",
+                name, getHits(), getMisses(), getHitRate() * 100, getEntries(), getSize(), maxSize, getEvictions());
+    }
+
+    private static final class StateKey {
+
+        private final int turnNum;
+        private final long hash1;
+        private final long hash2;
+
+        StateKey(String state, int turnNum) {
+            this.turnNum = turnNum;
+            // polynomial and FNV-1a hash, a collision of both is very unlikely
+            long h1 = 1125899906842597L;
+            long h2 = 0xcbf29ce484222325L;
+            for (int i = 0; i < state.length(); i++) {
+                char c = state.charAt(i);
+                h1 = 31 * h1 + c;
+                h2 = (h2 ^ c) * 0x100000001b3L;
+            }
+            this.hash1 = h1;
+            this.hash2 = h2;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof StateKey)) {
+                return false;
+            }
+            StateKey other = (StateKey) obj;
+            return turnNum == other.turnNum && hash1 == other.hash1 && hash2 == other.hash2;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash1 ^ (hash1 >>> 32));
+        }
+    }
+}
@@ -39,13 +39,21 @@ import mage.game.combat.Combat;
 import mage.game.combat.CombatGroup;
 import mage.player.ai.MCTSPlayer.NextAction;
 import mage.players.Player;
+import mage.players.ai.AiGovernor;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -59,11 +67,14 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
     private static final int THINK_MAX_RATIO = 100;
     private static final double THINK_TIME_MULTIPLIER = 2.0;
     private static final boolean USE_MULTIPLE_THREADS = true;
+    // pondering on the opponents time stops at the latest after this multiple of maxThinkTime
+    private static final int PONDER_TIME_MULTIPLIER = 10;
 
     protected transient MCTSNode root;
     protected int maxThinkTime;
     private static final Logger logger = Logger.getLogger(ComputerPlayerMCTS.class);
     private int poolSize;
+    private transient List<PonderTask> ponderTasks = new ArrayList<>();
 
     public ComputerPlayerMCTS(String name, RangeOfInfluence range, int skill) {
         super(name, range);
@@ -106,14 +117,24 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
         if (ability == null)
             logger.fatal("null ability");
         activateAbility((ActivatedAbility)ability, game);
-        if (ability instanceof PassAbility)
+        if (ability instanceof PassAbility) {
+            // the opponent plays the next spells of the turn
+            if (!game.getActivePlayerId().equals(playerId) && game.getStack().isEmpty()
+                    && (game.getStep().getType() == PhaseStep.PRECOMBAT_MAIN || game.getStep().getType() == PhaseStep.POSTCOMBAT_MAIN)) {
+                startPondering(game, NextAction.PRIORITY);
+            }
             return false;
+        }
         logLife(game);
         logger.info("choose action:" + root.getAction() + " success ratio: " + root.getWinRatio());
         return true;
     }
 
     protected void calculateActions(Game game, NextAction action) {
+        calculateActions(game, action, new ArrayList<>());
+    }
+
+    private void calculateActions(Game game, NextAction action, List<PonderTask> pondering) {
         if (root == null) {
             Game sim = createMCTSGame(game);
             MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
@@ -121,14 +142,18 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
             root = new MCTSNode(playerId, sim);
         }
         applyMCTS(game, action);
+        // the stopped pondering tasks had the think time to end their last simulation
+        mergePondered(pondering, root.getStateValue());
         root = root.bestChild();
         root.emancipate();
     }
 
     protected void getNextAction(Game game, NextAction nextAction) {
+        List<PonderTask> pondering = stopPondering();
+        String state = game.getState().getValue(game, playerId);
         if (root != null) {
             MCTSNode newRoot;
-            newRoot = root.getMatchingState(game.getState().getValue(game, playerId));
+            newRoot = root.getMatchingState(state);
             if (newRoot != null) {
                 newRoot.emancipate();
             }
@@ -136,7 +161,8 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
                 logger.info("unable to find matching state");
             root = newRoot;
         }
-        calculateActions(game, nextAction);
+        mergePondered(pondering, state);
+        calculateActions(game, nextAction, pondering);
     }
 
 //    @Override
@@ -219,6 +245,10 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
         }
         logger.info(sb.toString());
         MCTSNode.logHitMiss();
+        if (!combat.getAttackers().isEmpty()) {
+            // the opponent decides how to block
+            startPondering(game, NextAction.SELECT_ATTACKERS);
+        }
     }
 
     @Override
@@ -280,79 +310,233 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
     protected long totalThinkTime = 0;
     protected long totalSimulations = 0;
     protected void applyMCTS(final Game game, final NextAction action) {
-        
+        long start = EngineMetrics.start();
         int thinkTime = calculateThinkTime(game, action);
         
         if (thinkTime > 0) {
-            if (USE_MULTIPLE_THREADS) {
-                ExecutorService pool = Executors.newFixedThreadPool(poolSize);
-                List<MCTSExecutor> tasks = new ArrayList<>();
-                for (int i = 0; i < poolSize; i++) {
-                    Game sim = createMCTSGame(game);
-                    MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
-                    player.setNextAction(action);
-                    MCTSExecutor exec = new MCTSExecutor(sim, playerId, thinkTime);
-                    tasks.add(exec);
-                }
+            AiGovernor.Budget budget = AiGovernor.instance.startSearch(USE_MULTIPLE_THREADS ? poolSize : 1, thinkTime * 1000L, 0);
+            try {
+                long thinkMillis = budget.getThinkMillis();
+                if (USE_MULTIPLE_THREADS) {
+                    ExecutorService pool = Executors.newFixedThreadPool(budget.getThreads());
+                    List<MCTSExecutor> tasks = new ArrayList<>();
+                    for (int i = 0; i < budget.getThreads(); i++) {
+                        Game sim = createMCTSGame(game);
+                        MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
+                        player.setNextAction(action);
+                        MCTSExecutor exec = new MCTSExecutor(sim, playerId, thinkMillis);
+                        tasks.add(exec);
+                    }
 
-                try {
-                    pool.invokeAll(tasks, thinkTime, TimeUnit.SECONDS);
-                    pool.awaitTermination(1, TimeUnit.SECONDS);
-                    pool.shutdownNow();
-                } catch (InterruptedException | RejectedExecutionException ex) {
-                    logger.warn("applyMCTS interrupted");
-                }
+                    try {
+                        pool.invokeAll(tasks, thinkMillis, TimeUnit.MILLISECONDS);
+                        pool.awaitTermination(1, TimeUnit.SECONDS);
+                        pool.shutdownNow();
+                    } catch (InterruptedException | RejectedExecutionException ex) {
+                        logger.warn("applyMCTS interrupted");
+                    }
                 
-                int simCount = 0;
-                for (MCTSExecutor task: tasks) {
-                    simCount += task.getSimCount();
-                    root.merge(task.getRoot());
-                    task.clear();
-                }
-                tasks.clear();
-                totalThinkTime += thinkTime;
-                totalSimulations += simCount;
-                logger.info("Player: " + name + " Simulated " + simCount + " games in " + thinkTime + " seconds - nodes in tree: " + root.size());
-                logger.info("Total: Simulated " + totalSimulations + " games in " + totalThinkTime + " seconds - Average: " + totalSimulations/totalThinkTime);
-                MCTSNode.logHitMiss();
-            }
-            else {
-                long startTime = System.nanoTime();
-                long endTime = startTime + (thinkTime * 1000000000l);
-                MCTSNode current;
-                int simCount = 0;
-                while (true) {
-                    long currentTime = System.nanoTime();
-                    if (currentTime > endTime)
-                        break;
-                    current = root;
-
-                    // Selection
-                    while (!current.isLeaf()) {
-                        current = current.select(this.playerId);
+                    int simCount = 0;
+                    for (MCTSExecutor task: tasks) {
+                        simCount += task.getSimCount();
+                        root.merge(task.getRoot());
+                        task.clear();
                     }
+                    tasks.clear();
+                    totalThinkTime += thinkMillis;
+                    totalSimulations += simCount;
+                    logger.info("Player: " + name + " Simulated " + simCount + " games in " + thinkMillis + " ms on " + budget.getThreads() + " threads - nodes in tree: " + root.size());
+                    logger.info("Total: Simulated " + totalSimulations + " games in " + totalThinkTime / 1000 + " seconds - Average: " + totalSimulations * 1000 / totalThinkTime);
+                    MCTSNode.logHitMiss();
+                }
+                else {
+                    long startTime = System.nanoTime();
+                    long endTime = startTime + (thinkMillis * 1000000l);
+                    MCTSNode current;
+                    int simCount = 0;
+                    while (true) {
+                        long currentTime = System.nanoTime();
+                        if (currentTime > endTime)
+                            break;
+                        current = root;
 
-                    int result;
-                    if (!current.isTerminal()) {
-                        // Expansion
-                        current.expand();
+                        // Selection
+                        while (!current.isLeaf()) {
+                            current = current.select(this.playerId);
+                        }
 
-                        // Simulation
-                        current = current.select(this.playerId);
-                        result = current.simulate(this.playerId);
-                        simCount++;
-                    }
-                    else {
-                        result = current.isWinner(this.playerId)?1:-1;
+                        int result;
+                        if (!current.isTerminal()) {
+                            // Expansion
+                            current.expand();
+
+                            // Simulation
+                            current = current.select(this.playerId);
+                            result = current.simulate(this.playerId);
+                            simCount++;
+                        }
+                        else {
+                            result = current.isWinner(this.playerId)?1:-1;
+                        }
+                        // Backpropagation
+                        current.backpropagate(result);
                     }
-                    // Backpropagation
-                    current.backpropagate(result);
+                    logger.info("Simulated " + simCount + " games - nodes in tree: " + root.size());
                 }
-                logger.info("Simulated " + simCount + " games - nodes in tree: " + root.size());
+            } finally {
+                AiGovernor.instance.finishSearch(budget);
             }
 //            displayMemory();
         }
+        game.getMetrics().stop(EngineMetric.AI_SEARCH, start);
+    }
+
+    /**
+     * Keeps searching in the background while an opponent decides, as far as
+     * the server wide {@link PonderingPool} has free threads. The searched
+     * tree is used by the next decision of this player. It costs a copy of
+     * the game, so it's only started for decisions of the opponents that
+     * usually take a while.
+     *
+     * @param game
+     * @param action decision of this player the snapshot is taken at
+     */
+    protected void startPondering(Game game, NextAction action) {
+        if (!PonderingPool.instance.isEnabled() || game.isSimulation() || game.gameOver(null)) {
+            return;
+        }
+        stopPondering();
+        int threads = PonderingPool.instance.tryAcquire(poolSize);
+        if (threads == 0) {
+            return;
+        }
+        if (ponderTasks == null) {
+            // not restored with the player after a deserialization
+            ponderTasks = new ArrayList<>();
+        }
+        // copy on the game thread, the simulations are created in the background
+        Game snapshot = game.copy();
+        for (int i = 0; i < threads; i++) {
+            PonderTask task = new PonderTask(snapshot, action, maxThinkTime * PONDER_TIME_MULTIPLIER * 1000L);
+            task.future = PonderingPool.instance.submit(task);
+            ponderTasks.add(task);
+        }
+    }
 
+    /**
+     * Stops the pondering without waiting for it, a task ends after its
+     * running simulation
+     *
+     * @return the stopped tasks, their trees can be merged as soon as they
+     * have ended
+     */
+    private List<PonderTask> stopPondering() {
+        List<PonderTask> stopped = new ArrayList<>();
+        if (ponderTasks == null || ponderTasks.isEmpty()) {
+            return stopped;
+        }
+        for (PonderTask task : ponderTasks) {
+            task.stop();
+            stopped.add(task);
+        }
+        ponderTasks.clear();
+        return stopped;
+    }
+
+    /**
+     * Merges the node of the given state from the trees of the ended
+     * pondering tasks into the current tree, the tasks are removed from the
+     * list. The trees of tasks that did not end yet are left for a later call.
+     *
+     * @param pondering
+     * @param state
+     */
+    private void mergePondered(List<PonderTask> pondering, String state) {
+        int simCount = 0;
+        Iterator<PonderTask> iterator = pondering.iterator();
+        while (iterator.hasNext()) {
+            PonderTask task = iterator.next();
+            if (!task.future.isDone()) {
+                continue;
+            }
+            iterator.remove();
+            MCTSNode pondered;
+            try {
+                pondered = task.future.get();
+            } catch (InterruptedException | ExecutionException | CancellationException ex) {
+                logger.error("pondering failed", ex);
+                continue;
+            }
+            MCTSNode node = pondered == null ? null : pondered.getMatchingState(state);
+            if (node == null) {
+                continue;
+            }
+            simCount += task.getSimCount();
+            node.emancipate();
+            if (root == null) {
+                root = node;
+            } else {
+                root.merge(node);
+            }
+        }
+        if (simCount > 0) {
+            logger.info("Player: " + name + " pondered " + simCount + " games");
+        }
+    }
+
+    @Override
+    public void cleanUpOnMatchEnd() {
+        stopPondering();
+        super.cleanUpOnMatchEnd();
+    }
+
+    private class PonderTask implements Callable<MCTSNode> {
+
+        private final Game game;
+        private final NextAction action;
+        private final long thinkTime;
+        private volatile boolean stopped;
+        private volatile MCTSExecutor executor;
+        private Future<MCTSNode> future;
+
+        PonderTask(Game game, NextAction action, long thinkTime) {
+            this.game = game;
+            this.action = action;
+            this.thinkTime = thinkTime;
+        }
+
+        @Override
+        public MCTSNode call() {
+            if (stopped) {
+                return null;
+            }
+            Game sim;
+            synchronized (game) {
+                // all tasks share the snapshot
+                sim = createMCTSGame(game);
+            }
+            MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
+            player.setNextAction(action);
+            executor = new MCTSExecutor(sim, playerId, thinkTime);
+            if (stopped) {
+                return null;
+            }
+            executor.call();
+            return executor.getRoot();
+        }
+
+        void stop() {
+            stopped = true;
+            MCTSExecutor running = executor;
+            if (running != null) {
+                running.stop();
+            }
+        }
+
+        int getSimCount() {
+            MCTSExecutor running = executor;
+            return running != null ? running.getSimCount() : 0;
+        }
     }
 
     //try to ensure that there are at least THINK_MIN_RATIO simulations per node at all times
@@ -39,13 +39,15 @@ import org.apache.log4j.Logger;
 public class MCTSExecutor implements Callable<Boolean> {
 
     protected transient MCTSNode root;
-    protected int thinkTime;
+    // milliseconds
+    protected long thinkTime;
     protected UUID playerId;
     protected int simCount;
+    private volatile boolean stopped;
 
     private static final Logger logger = Logger.getLogger(ComputerPlayerMCTS.class);
 
-    public MCTSExecutor(Game sim, UUID playerId, int thinkTime) {
+    public MCTSExecutor(Game sim, UUID playerId, long thinkTime) {
         this.playerId = playerId;
         this.thinkTime = thinkTime;
         root = new MCTSNode(playerId, sim);
@@ -55,9 +57,9 @@ public class MCTSExecutor implements Callable<Boolean> {
     public Boolean call() {
         simCount = 0;
         MCTSNode current;
+        long endTime = System.nanoTime() + thinkTime * 1000000L;
 
-
-        while (true) {
+        while (!stopped && System.nanoTime() < endTime) {
             current = root;
 
             // Selection
@@ -88,6 +90,14 @@ public class MCTSExecutor implements Callable<Boolean> {
             // Backpropagation
             current.backpropagate(result);
         }
+        return true;
+    }
+
+    /**
+     * Stops the search after the running simulation
+     */
+    public void stop() {
+        stopped = true;
     }
 
     public MCTSNode getRoot() {
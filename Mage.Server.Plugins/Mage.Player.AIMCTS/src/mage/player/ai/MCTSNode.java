@@ -29,11 +29,8 @@ package mage.player.ai;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import mage.constants.PhaseStep;
 import mage.constants.Zone;
 import mage.abilities.Ability;
@@ -42,6 +39,7 @@ import mage.abilities.PlayLandAbility;
 import mage.abilities.common.PassAbility;
 import mage.cards.Card;
 import mage.game.Game;
+import mage.game.GameOptions;
 import mage.game.combat.Combat;
 import mage.game.combat.CombatGroup;
 import mage.game.turn.Step.StepPart;
@@ -54,7 +52,10 @@ import org.apache.log4j.Logger;
  */
 public class MCTSNode {
 
-    public static final boolean USE_ACTION_CACHE = false;
+    // enabled with -Dxmage.ai.mcts.actionCache=true
+    public static final boolean USE_ACTION_CACHE = Boolean.getBoolean("xmage.ai.mcts.actionCache");
+    // simulations stop after this number of turns and the position is evaluated, 0 plays them to the end
+    private static final int ROLLOUT_TURNS = Integer.getInteger("xmage.ai.mcts.rolloutTurns", 4);
     private static final double selectionCoefficient = Math.sqrt(2.0);
     private static final double passRatioTolerance = 0.0;
     private static final Logger logger = Logger.getLogger(MCTSNode.class);
@@ -217,8 +218,19 @@ public class MCTSNode {
     public int simulate(UUID playerId) {
 //        long startTime = System.nanoTime();
         Game sim = createSimulation(game, playerId);
+        if (ROLLOUT_TURNS > 0) {
+            // the options are shared with the real game
+            GameOptions options = new GameOptions();
+            options.testMode = sim.getOptions().testMode;
+            options.stopOnTurn = sim.getTurnNum() + ROLLOUT_TURNS;
+            sim.setGameOptions(options);
+        }
         sim.resume();
 //        long duration = System.nanoTime() - startTime;
+        if (!sim.gameOver(null)) {
+            // stopped by the turn limit
+            return RolloutEvaluator.evaluate(sim, playerId);
+        }
         int retVal = -1;  //anything other than a win is a loss
         for (Player simPlayer: sim.getPlayers().values()) {
 //            logger.info(simPlayer.getName() + " calculated " + ((SimulatedPlayerMCTS)simPlayer).getActionCount() + " actions in " + duration/1000000000.0 + "s");
@@ -478,99 +490,38 @@ public class MCTSNode {
         return num;
     }
 
-    private static final ConcurrentHashMap<String, List<Ability>> playablesCache = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<String, List<List<UUID>>> attacksCache = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<String, List<List<List<UUID>>>> blocksCache = new ConcurrentHashMap<>();
-
-    private static long playablesHit = 0;
-    private static long playablesMiss = 0;
-    private static long attacksHit = 0;
-    private static long attacksMiss = 0;
-    private static long blocksHit = 0;
-    private static long blocksMiss = 0;
-    
+    // size of every action cache (number of cached actions)
+    private static final long ACTION_CACHE_SIZE = Long.getLong("xmage.ai.mcts.actionCacheSize", 20000);
+
+    private static final ActionCache<List<Ability>> playablesCache = new ActionCache<>("Playables", ACTION_CACHE_SIZE);
+    private static final ActionCache<List<List<UUID>>> attacksCache = new ActionCache<>("Attacks", ACTION_CACHE_SIZE);
+    private static final ActionCache<List<List<List<UUID>>>> blocksCache = new ActionCache<>("Blocks", ACTION_CACHE_SIZE);
+
     private static List<Ability> getPlayables(MCTSPlayer player, String state, Game game) {
-        if (playablesCache.containsKey(state)) {
-            playablesHit++;
-            return playablesCache.get(state);
-        }
-        else {
-            playablesMiss++;
-            List<Ability> abilities = player.getPlayableOptions(game);
-            playablesCache.put(state, abilities);
-            return abilities;
-        }
+        return playablesCache.get(state, game.getTurnNum(), () -> player.getPlayableOptions(game));
     }
-    
+
     private static List<List<UUID>> getAttacks(MCTSPlayer player, String state, Game game) {
-        if (attacksCache.containsKey(state)) {
-            attacksHit++;
-            return attacksCache.get(state);
-        }
-        else {
-            attacksMiss++;
-            List<List<UUID>> attacks = player.getAttacks(game);
-            attacksCache.put(state, attacks);
-            return attacks;
-        }
+        return attacksCache.get(state, game.getTurnNum(), () -> player.getAttacks(game));
     }
-    
+
     private static List<List<List<UUID>>> getBlocks(MCTSPlayer player, String state, Game game) {
-        if (blocksCache.containsKey(state)) {
-            blocksHit++;
-            return blocksCache.get(state);
-        }
-        else {
-            blocksMiss++;
-            List<List<List<UUID>>> blocks = player.getBlocks(game);
-            blocksCache.put(state, blocks);
-            return blocks;
-        }
+        return blocksCache.get(state, game.getTurnNum(), () -> player.getBlocks(game));
     }
-    
-    public static int cleanupCache(int turnNum) {
-        Set<String> playablesKeys = playablesCache.keySet();
-        Iterator<String> playablesIterator = playablesKeys.iterator();
-        int count = 0;
-        while(playablesIterator.hasNext()) {
-            String next = playablesIterator.next();
-            int cacheTurn = Integer.valueOf(next.split(":", 2)[0].substring(1));
-            if (cacheTurn < turnNum) {
-                playablesIterator.remove();
-                count++;
-            }
-        }
-
-        Set<String> attacksKeys = attacksCache.keySet();
-        Iterator<String> attacksIterator = attacksKeys.iterator();
-        while(attacksIterator.hasNext()) {
-            int cacheTurn = Integer.valueOf(attacksIterator.next().split(":", 2)[0].substring(1));
-            if (cacheTurn < turnNum) {
-                attacksIterator.remove();
-                count++;
-            }
-        }
-        
-        Set<String> blocksKeys = blocksCache.keySet();
-        Iterator<String> blocksIterator = blocksKeys.iterator();
-        while(blocksIterator.hasNext()) {
-            int cacheTurn = Integer.valueOf(blocksIterator.next().split(":", 2)[0].substring(1));
-            if (cacheTurn < turnNum) {
-                blocksIterator.remove();
-                count++;
-            }
-        }
 
-        return count;
+    public static int cleanupCache(int turnNum) {
+        return playablesCache.removeTurnsBefore(turnNum)
+                + attacksCache.removeTurnsBefore(turnNum)
+                + blocksCache.removeTurnsBefore(turnNum);
     }
-    
+
     public static void logHitMiss() {
         if (USE_ACTION_CACHE) {
             StringBuilder sb = new StringBuilder();
-            sb.append("Playables Cache -- Hits: ").append(playablesHit).append(" Misses: ").append(playablesMiss).append('\n');
-            sb.append("Attacks Cache -- Hits: ").append(attacksHit).append(" Misses: ").append(attacksMiss).append('\n');
-            sb.append("Blocks Cache -- Hits: ").append(blocksHit).append(" Misses: ").append(blocksMiss).append('\n');
+            sb.append(playablesCache).append('\n');
+            sb.append(attacksCache).append('\n');
+            sb.append(blocksCache).append('\n');
             logger.info(sb.toString());
         }
-    }    
+    }
 }
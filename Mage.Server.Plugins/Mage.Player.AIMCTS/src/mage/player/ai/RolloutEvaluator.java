@@ -0,0 +1,68 @@
+package mage.player.ai;
+
+import java.util.UUID;
+import mage.game.Game;
+import mage.game.permanent.Permanent;
+import mage.players.Player;
+
+/**
+ * Static evaluation of a simulation that was stopped before the game ended.
+ * Life above 20 counts less, every permanent counts with the value of the
+ * {@link PermanentEvaluator} and cards in hand count a little.
+ */
+public final class RolloutEvaluator {
+
+    private static final int LIFE_FACTOR = 10;
+    private static final int LIFE_ABOVE_FACTOR = 2;
+    private static final int PERMANENT_FACTOR = 10;
+    private static final int PERMANENT_SCORE = 10;
+    private static final int HAND_CARD_SCORE = 5;
+    // the player has to be ahead by this to count the simulation as won
+    private static final int WIN_MARGIN = 20;
+
+    private RolloutEvaluator() {
+    }
+
+    /**
+     * @param game
+     * @param playerId
+     * @return 1 if the player is clearly ahead, otherwise -1 like a simulation
+     * that was not won
+     */
+    public static int evaluate(Game game, UUID playerId) {
+        Player player = game.getPlayer(playerId);
+        if (player == null || player.hasLost()) {
+            return -1;
+        }
+        PermanentEvaluator evaluator = new PermanentEvaluator();
+        int score = getPlayerScore(game, player, evaluator);
+        int opponentsScore = 0;
+        int opponents = 0;
+        for (UUID opponentId : game.getOpponents(playerId)) {
+            Player opponent = game.getPlayer(opponentId);
+            if (opponent != null && opponent.isInGame()) {
+                opponentsScore += getPlayerScore(game, opponent, evaluator);
+                opponents++;
+            }
+        }
+        if (opponents == 0) {
+            return 1;
+        }
+        return score - opponentsScore / opponents > WIN_MARGIN ? 1 : -1;
+    }
+
+    private static int getPlayerScore(Game game, Player player, PermanentEvaluator evaluator) {
+        int life = player.getLife();
+        int score;
+        if (life <= 20) {
+            score = life * LIFE_FACTOR;
+        } else {
+            score = 20 * LIFE_FACTOR + (life - 20) * LIFE_ABOVE_FACTOR;
+        }
+        for (Permanent permanent : game.getBattlefield().getAllActivePermanents(player.getId())) {
+            score += PERMANENT_SCORE + evaluator.evaluate(permanent, game) * PERMANENT_FACTOR;
+        }
+        score += player.getHand().size() * HAND_CARD_SCORE;
+        return score;
+    }
+}
@@ -37,6 +37,7 @@ import mage.abilities.Ability;
 import mage.abilities.ActivatedAbility;
 import mage.abilities.Mode;
 import mage.abilities.Modes;
+import mage.abilities.PlayLandAbility;
 import mage.abilities.TriggeredAbility;
 import mage.abilities.common.PassAbility;
 import mage.abilities.costs.mana.GenericManaCost;
@@ -64,6 +65,9 @@ import org.apache.log4j.Logger;
  */
 public class SimulatedPlayerMCTS extends MCTSPlayer {
 
+    // disabled with -Dxmage.ai.mcts.randomRollouts=true
+    private static final boolean HEURISTIC_ROLLOUTS = !Boolean.getBoolean("xmage.ai.mcts.randomRollouts");
+
     private boolean isSimulatedPlayer;
     private int actionCount = 0;
     private static final Logger logger = Logger.getLogger(SimulatedPlayerMCTS.class);
@@ -111,11 +115,7 @@ public class SimulatedPlayerMCTS extends MCTSPlayer {
         List<Ability> playables = getPlayableAbilities(game);
         Ability ability;
         while (true) {
-            if (playables.size() == 1) {
-                ability = playables.get(0);
-            } else {
-                ability = playables.get(RandomUtil.nextInt(playables.size()));
-            }
+            ability = chooseAbility(playables);
             List<Ability> options = getPlayableOptions(ability, game);
             if (!options.isEmpty()) {
                 if (options.size() == 1) {
@@ -150,6 +150,40 @@ public class SimulatedPlayerMCTS extends MCTSPlayer {
         return ability;
     }
 
+    /**
+     * Lands are played first, the other abilities are chosen at random with a
+     * higher chance for the more expensive ones than for passing
+     *
+     * @param playables
+     * @return
+     */
+    private Ability chooseAbility(List<Ability> playables) {
+        if (playables.size() == 1) {
+            return playables.get(0);
+        }
+        if (!HEURISTIC_ROLLOUTS) {
+            return playables.get(RandomUtil.nextInt(playables.size()));
+        }
+        int[] weights = new int[playables.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < playables.size(); i++) {
+            Ability ability = playables.get(i);
+            if (ability instanceof PlayLandAbility) {
+                return ability;
+            }
+            weights[i] = ability instanceof PassAbility ? 1 : 2 + ability.getManaCosts().convertedManaCost();
+            totalWeight += weights[i];
+        }
+        int value = RandomUtil.nextInt(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return playables.get(i);
+            }
+        }
+        return playables.get(playables.size() - 1);
+    }
+
     @Override
     public boolean triggerAbility(TriggeredAbility source, Game game) {
 //        logger.info("trigger");
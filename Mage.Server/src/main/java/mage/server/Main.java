@@ -40,11 +40,13 @@ import mage.cards.repository.PluginClassloaderRegistery;
 import mage.game.match.MatchType;
 import mage.game.tournament.TournamentType;
 import mage.interfaces.MageServer;
+import mage.players.ai.AiGovernor;
 import mage.remote.Connection;
 import mage.server.draft.CubeFactory;
 import mage.server.game.DeckValidatorFactory;
 import mage.server.game.GameFactory;
 import mage.server.game.PlayerFactory;
+import mage.server.management.ManagementService;
 import mage.server.record.UserStatsRepository;
 import mage.server.tournament.TournamentFactory;
 import mage.server.util.ConfigSettings;
@@ -193,6 +195,7 @@ public final class Main {
         logger.info("Config - max seconds idle: " + config.getMaxSecondsIdle());
         logger.info("Config - max game threads: " + config.getMaxGameThreads());
         logger.info("Config - max AI opponents: " + config.getMaxAiOpponents());
+        logger.info("Config - AI CPU threads  : " + config.getAiCpuThreads());
         logger.info("Config - min usr name le.: " + config.getMinUserNameLength());
         logger.info("Config - max usr name le.: " + config.getMaxUserNameLength());
         logger.info("Config - min pswrd length: " + config.getMinPasswordLength());
@@ -215,6 +218,15 @@ public final class Main {
         logger.info("Config - mail from addre.: " + config.getMailFromAddress());
         logger.info("Config - google account  : " + config.getGoogleAccount());
 
+        String aiCpuThreads = config.getAiCpuThreads();
+        if (aiCpuThreads != null && !aiCpuThreads.trim().isEmpty()) {
+            try {
+                AiGovernor.instance.setCpuThreads(Integer.parseInt(aiCpuThreads.trim()));
+            } catch (NumberFormatException ex) {
+                logger.warn("Config - invalid aiCpuThreads value \"" + aiCpuThreads + "\", the AI think time is not limited");
+            }
+        }
+
         Connection connection = new Connection("&maxPoolSize=" + config.getMaxPoolSize());
         connection.setHost(config.getServerAddress());
         connection.setPort(config.getPort());
@@ -240,6 +252,7 @@ public final class Main {
 
     static void initStatistics() {
         ServerMessagesUtil.instance.setStartDate(System.currentTimeMillis());
+        ManagementService.instance.registerServer();
     }
 
     static boolean isAlreadyRunning(InvokerLocator serverLocator) {
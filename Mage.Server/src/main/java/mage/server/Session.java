@@ -41,6 +41,7 @@ import mage.players.net.UserGroup;
 import static mage.server.DisconnectReason.LostConnection;
 import mage.server.game.GamesRoom;
 import mage.server.game.GamesRoomManager;
+import mage.server.management.ServerMetrics;
 import mage.server.util.ConfigSettings;
 import mage.server.util.SystemUtil;
 import mage.util.RandomUtil;
@@ -372,7 +373,12 @@ public class Session {
     public void fireCallback(final ClientCallback call) {
         try {
             call.setMessageId(messageId++);
-            callbackHandler.handleCallbackOneway(new Callback(call));
+            ServerMetrics.instance.callbackStarted();
+            try {
+                callbackHandler.handleCallbackOneway(new Callback(call));
+            } finally {
+                ServerMetrics.instance.callbackFinished();
+            }
         } catch (HandleCallbackException ex) {
             UserManager.instance.getUser(userId).ifPresent(user -> {
                 user.setUserState(User.UserState.Disconnected);
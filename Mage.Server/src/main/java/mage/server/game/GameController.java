@@ -34,7 +34,6 @@ import java.util.concurrent.*;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.zip.GZIPOutputStream;
 import mage.MageException;
 import mage.abilities.Ability;
 import mage.cards.Card;
@@ -59,6 +58,7 @@ import mage.game.permanent.Permanent;
 import mage.interfaces.Action;
 import mage.players.Player;
 import mage.server.*;
+import mage.server.management.ManagementService;
 import mage.server.util.ConfigSettings;
 import mage.server.util.Splitter;
 import mage.server.util.SystemUtil;
@@ -99,6 +99,7 @@ public class GameController implements GameCallback {
     private Future<?> gameFuture;
     private boolean useTimeout = true;
     private final GameOptions gameOptions;
+    private SavedGameWriter savedGameWriter;
 
     private UUID userReqestingRollback;
     private int turnsToRollback;
@@ -111,15 +112,23 @@ public class GameController implements GameCallback {
         this.userReqestingRollback = null;
         this.game = game;
         this.game.setSaveGame(ConfigSettings.instance.isSaveGameActivated());
+        if (ConfigSettings.instance.isSaveGameActivated()) {
+            savedGameWriter = new SavedGameWriter(game);
+        }
         this.tableId = tableId;
         this.choosingPlayerId = choosingPlayerId;
         this.gameOptions = gameOptions;
         useTimeout = game.getPlayers().values().stream().allMatch(Player::isHuman);
         init();
+        ManagementService.instance.registerGame(game);
 
     }
 
     public void cleanUp() {
+        ManagementService.instance.unregisterGame(game.getId());
+        if (savedGameWriter != null) {
+            savedGameWriter.abort();
+        }
         cancelTimeout();
         for (GameSessionPlayer gameSessionPlayer : getGameSessions()) {
             gameSessionPlayer.cleanUp();
@@ -138,6 +147,9 @@ public class GameController implements GameCallback {
                         UUID playerId;
                         switch (event.getEventType()) {
                             case UPDATE:
+                                if (savedGameWriter != null) {
+                                    savedGameWriter.flush(false);
+                                }
                                 updateGame();
                                 break;
                             case INFO:
@@ -900,20 +912,17 @@ public class GameController implements GameCallback {
         }
     }
 
+    /**
+     * Writes the rest of the saved game in the background, the states were
+     * already written while the game was running
+     *
+     * @return false if the game can't be saved
+     */
     public boolean saveGame() {
-        try {
-            OutputStream file = new FileOutputStream("saved/" + game.getId().toString() + ".game");
-            OutputStream buffer = new BufferedOutputStream(file);
-            try (ObjectOutput output = new ObjectOutputStream(new GZIPOutputStream(buffer))) {
-                output.writeObject(game);
-                output.writeObject(game.getGameStates());
-            }
-            logger.debug("Saved game:" + game.getId());
-            return true;
-        } catch (IOException ex) {
-            logger.fatal("Cannot save game.", ex);
+        if (savedGameWriter == null) {
+            savedGameWriter = new SavedGameWriter(game);
         }
-        return false;
+        return savedGameWriter.finish(game);
     }
 
     /**
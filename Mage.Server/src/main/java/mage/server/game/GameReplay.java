@@ -28,23 +28,16 @@
 
 package mage.server.game;
 
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.ObjectInput;
 import java.util.UUID;
-import java.util.zip.GZIPInputStream;
 import mage.game.Game;
 import mage.game.GameState;
-import mage.game.GameStates;
-import mage.server.Main;
-import mage.util.CopierObjectInputStream;
 import org.apache.log4j.Logger;
 
 
 
 /**
+ * The states are read from the saved game when they are viewed.
  *
  * @author BetaSteward_at_googlemail.com
  */
@@ -52,13 +45,13 @@ public class GameReplay {
 
     private static final Logger logger = Logger.getLogger(GameReplay.class);
 
-    private final GameStates savedGame;
+    private final SavedGameReader savedGame;
     private final Game game;
     private int stateIndex;
 
     public GameReplay(UUID gameId) {
+        this.savedGame = openGame(gameId);
         this.game = loadGame(gameId);
-        this.savedGame = game.getGameStates();
     }
 
     public void start() {
@@ -66,33 +59,58 @@ public class GameReplay {
     }
 
     public GameState next() {
-        if (this.stateIndex < savedGame.getSize()) {
-            return savedGame.get(stateIndex++);
+        if (this.stateIndex < getStatesCount()) {
+            return loadState(stateIndex++);
         }
         return null;
     }
 
     public GameState previous() {
         if (this.stateIndex > 0) {
-            return savedGame.get(--stateIndex);
+            return loadState(--stateIndex);
         }
         return null;
     }
 
+    /**
+     * Moves to the state with the index without reading the states in between
+     *
+     * @param index
+     * @return the state or null if the index is after the last state
+     */
+    public GameState seek(int index) {
+        // after the last state previous() has to step back to it
+        this.stateIndex = Math.max(0, Math.min(index, getStatesCount()));
+        return next();
+    }
+
+    public int getStateIndex() {
+        return stateIndex;
+    }
+
+    public int getStatesCount() {
+        return savedGame == null ? 0 : savedGame.getStatesCount();
+    }
+
     public Game getGame() {
         return this.game;
     }
 
+    private SavedGameReader openGame(UUID gameId) {
+        try {
+            return new SavedGameReader(gameId);
+        } catch (IOException ex) {
+            logger.fatal("Cannot load game:" + gameId, ex);
+        }
+        return null;
+    }
+
     private Game loadGame(UUID gameId) {
-        try{
-            InputStream file = new FileInputStream("saved/" + gameId.toString() + ".game");
-            InputStream buffer = new BufferedInputStream(file);
-            try (ObjectInput input = new CopierObjectInputStream(Main.classLoader, new GZIPInputStream(buffer))) {
-                Game loadGame = (Game) input.readObject();
-                GameStates states = (GameStates) input.readObject();
-                loadGame.loadGameStates(states);
-                return loadGame;
-            }
+        if (savedGame == null) {
+            return null;
+        }
+        try {
+            return savedGame.readGame();
         }
         catch(ClassNotFoundException ex) {
             logger.fatal("Cannot load game. Class not found.", ex);
@@ -103,4 +121,17 @@ public class GameReplay {
         return null;
     }
 
+    private GameState loadState(int index) {
+        try {
+            return savedGame.readState(index);
+        }
+        catch(ClassNotFoundException ex) {
+            logger.fatal("Cannot load game state. Class not found.", ex);
+        }
+        catch(IOException ex) {
+            logger.fatal("Cannot load game state:" + index, ex);
+        }
+        return null;
+    }
+
 }
@@ -43,6 +43,8 @@ import mage.players.Player;
 import mage.server.User;
 import mage.server.UserManager;
 import mage.server.util.ThreadExecutor;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
 import mage.view.*;
 import org.apache.log4j.Logger;
 
@@ -210,6 +212,7 @@ public class GameSessionPlayer extends GameSessionWatcher {
 
     @Override
     public GameView getGameView() {
+        long start = EngineMetrics.start();
         Player player = game.getPlayer(playerId);
         GameView gameView = new GameView(game.getState(), game, playerId, null);
         gameView.setHand(new CardsView(game, player.getHand().getCards(game)));
@@ -227,6 +230,7 @@ public class GameSessionPlayer extends GameSessionWatcher {
         }
         gameView.setLookedAt(list);
 
+        game.getMetrics().stop(EngineMetric.GAME_VIEW, start);
         return gameView;
     }
 
@@ -35,6 +35,8 @@ import mage.interfaces.callback.ClientCallbackMethod;
 import mage.players.Player;
 import mage.server.User;
 import mage.server.UserManager;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
 import mage.view.GameClientMessage;
 import mage.view.GameEndView;
 import mage.view.GameView;
@@ -124,8 +126,10 @@ public class GameSessionWatcher {
     }
 
     public GameView getGameView() {
+        long start = EngineMetrics.start();
         GameView gameView = new GameView(game.getState(), game, null, userId);
         processWatchedHands(userId, gameView);
+        game.getMetrics().stop(EngineMetric.GAME_VIEW, start);
         return gameView;
 
     }
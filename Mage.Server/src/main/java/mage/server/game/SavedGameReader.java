@@ -0,0 +1,107 @@
+package mage.server.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import mage.game.Game;
+import mage.game.GameState;
+import mage.server.Main;
+import mage.util.CopierObjectInputStream;
+
+/**
+ * Reads single states of a saved game written by {@link SavedGameWriter}.
+ *
+ * Only the index is read when the file is opened. A state is read by
+ * decoding the chunk of states it was written with, the last decoded chunks
+ * are kept because a replay mostly steps to the next or previous state.
+ */
+public class SavedGameReader {
+
+    private static final int CACHED_CHUNKS = 4;
+
+    private final File file;
+    private final long gameOffset;
+    private final long[] stateOffsets;
+    private final int[] statePositions;
+    private final Map<Long, List<GameState>> chunks = new LinkedHashMap<Long, List<GameState>>(CACHED_CHUNKS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<GameState>> eldest) {
+            return size() > CACHED_CHUNKS;
+        }
+    };
+
+    public SavedGameReader(UUID gameId) throws IOException {
+        SavedGameWriter.waitForGame(gameId);
+        this.file = SavedGameWriter.getFile(gameId);
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            if (input.readInt() != SavedGameWriter.MAGIC) {
+                // also games saved before the states were written in records
+                throw new IOException("Unknown file format: " + file);
+            }
+            input.seek(input.length() - 8);
+            long indexOffset = input.readLong();
+            input.seek(indexOffset);
+            if (input.readByte() != SavedGameWriter.RECORD_INDEX) {
+                throw new IOException("Saved game not complete: " + file);
+            }
+            int count = input.readInt();
+            byte[] data = new byte[input.readInt()];
+            input.readFully(data);
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(data));
+            gameOffset = index.readLong();
+            stateOffsets = new long[count];
+            statePositions = new int[count];
+            for (int i = 0; i < count; i++) {
+                stateOffsets[i] = index.readLong();
+                statePositions[i] = index.readInt();
+            }
+        }
+    }
+
+    public int getStatesCount() {
+        return stateOffsets.length;
+    }
+
+    public Game readGame() throws IOException, ClassNotFoundException {
+        return (Game) readRecord(gameOffset);
+    }
+
+    /**
+     * @param index
+     * @return state with the index or null if there is no such state
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized GameState readState(int index) throws IOException, ClassNotFoundException {
+        if (index < 0 || index >= stateOffsets.length) {
+            return null;
+        }
+        List<GameState> chunk = chunks.get(stateOffsets[index]);
+        if (chunk == null) {
+            chunk = (List<GameState>) readRecord(stateOffsets[index]);
+            chunks.put(stateOffsets[index], chunk);
+        }
+        return chunk.get(statePositions[index]);
+    }
+
+    private Object readRecord(long offset) throws IOException, ClassNotFoundException {
+        byte[] data;
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            input.seek(offset + SavedGameWriter.RECORD_HEADER_SIZE - 4);
+            data = new byte[input.readInt()];
+            input.readFully(data);
+        }
+        try (ObjectInput input = new CopierObjectInputStream(Main.classLoader, new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            return input.readObject();
+        }
+    }
+}
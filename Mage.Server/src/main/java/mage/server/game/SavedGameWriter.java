@@ -0,0 +1,300 @@
+package mage.server.game;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import mage.game.Game;
+import mage.game.GameState;
+import mage.game.GameStates;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes the saved game file while the game is running.
+ *
+ * The saved states are taken from the game thread in chunks and serialized
+ * there, a state shares objects with the running game (e.g. the values of
+ * the state) that the game keeps changing. Only the serialized bytes are
+ * compressed and appended to the file by a small pool of I/O threads, so at
+ * the end of the game only the game object itself has to be serialized.
+ *
+ * File format: magic number, then records of type, start index, length and
+ * a gzip compressed object stream. A states record replaces all states from
+ * its start index (states can be removed by a rollback). After the game
+ * record follows the index record with the offset of the game record and the
+ * record offset and position of every state, the file ends with the offset
+ * of the index record. So a replay can read single states, see
+ * {@link SavedGameReader}.
+ */
+public class SavedGameWriter {
+
+    private static final Logger logger = Logger.getLogger(SavedGameWriter.class);
+
+    static final int MAGIC = 0x584d4731;
+    static final byte RECORD_STATES = 1;
+    static final byte RECORD_GAME = 2;
+    static final byte RECORD_INDEX = 3;
+    static final int RECORD_HEADER_SIZE = 9;
+
+    private static final int STATES_PER_CHUNK = 20;
+    private static final int IO_THREADS = 2;
+    private static final long WAIT_SECONDS = 30;
+
+    private static final ExecutorService ioExecutor = Executors.newFixedThreadPool(IO_THREADS, r -> {
+        Thread thread = new Thread(r, "SAVE GAME");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicInteger pendingWrites = new AtomicInteger();
+    // games that are saved but not completely written yet
+    private static final Map<UUID, CompletableFuture<Void>> finishing = new ConcurrentHashMap<>();
+
+    private final UUID gameId;
+    private final File file;
+    private final GameStates states;
+    private final EngineMetrics metrics;
+    // the writes of one game are done in order
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+    // number of states after the last taken chunk
+    private int takenCount;
+    private DataOutputStream output;
+    // written bytes and the location of the current states, only used by the I/O threads
+    private long written;
+    private final List<Long> stateOffsets = new ArrayList<>();
+    private final List<Integer> statePositions = new ArrayList<>();
+    private volatile boolean failed;
+    private boolean closed;
+
+    public SavedGameWriter(Game game) {
+        this.gameId = game.getId();
+        this.file = getFile(gameId);
+        this.states = game.getGameStates();
+        this.metrics = game.getMetrics();
+    }
+
+    static File getFile(UUID gameId) {
+        return new File("saved/" + gameId.toString() + ".game");
+    }
+
+    /**
+     * Takes the new states and writes them in the background, must be called
+     * from the game thread
+     *
+     * @param force write the states even if they don't fill a chunk
+     */
+    public synchronized void flush(boolean force) {
+        if (closed || failed) {
+            return;
+        }
+        int changes = states.getChangesCount();
+        boolean removed = states.getFirstChangedIndex() < takenCount;
+        if (changes >= STATES_PER_CHUNK || (force && (changes > 0 || removed))) {
+            int startIndex = states.getFirstChangedIndex();
+            List<GameState> chunk = states.takeChanges();
+            takenCount = states.getSize();
+            long start = EngineMetrics.start();
+            byte[] chunkData;
+            try {
+                chunkData = toBytes(chunk);
+            } catch (IOException ex) {
+                logger.fatal("Cannot save game:" + gameId, ex);
+                abort();
+                return;
+            }
+            metrics.stop(EngineMetric.SERIALIZATION, start);
+            int count = chunk.size();
+            submit(() -> writeStates(startIndex, count, chunkData));
+        }
+    }
+
+    /**
+     * Writes the remaining states and the game, only the game is serialized
+     * on the calling thread
+     *
+     * @param game
+     * @return false if the file could not be written
+     */
+    public synchronized boolean finish(Game game) {
+        flush(true);
+        if (closed || failed) {
+            return false;
+        }
+        long start = EngineMetrics.start();
+        byte[] gameData;
+        try {
+            gameData = toBytes(game);
+        } catch (IOException ex) {
+            logger.fatal("Cannot save game:" + gameId, ex);
+            abort();
+            return false;
+        }
+        closed = true;
+        metrics.stop(EngineMetric.SERIALIZATION, start);
+        submit(() -> {
+            long gameOffset = writeRecord(RECORD_GAME, 0, compress(gameData));
+            writeIndex(gameOffset);
+            close();
+            logger.debug("Saved game:" + gameId);
+        });
+        CompletableFuture<Void> done = lastWrite;
+        finishing.put(gameId, done);
+        done.whenComplete((result, ex) -> finishing.remove(gameId, done));
+        return true;
+    }
+
+    /**
+     * Stops writing and deletes the incomplete file, does nothing if the game
+     * was already saved
+     */
+    public synchronized void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        submit(() -> {
+            close();
+            if (file.exists() && !file.delete()) {
+                logger.warn("Cannot delete saved game file:" + file);
+            }
+        });
+    }
+
+    private void submit(IOTask task) {
+        pendingWrites.incrementAndGet();
+        lastWrite = lastWrite.thenRunAsync(() -> {
+            try {
+                if (!failed) {
+                    task.run();
+                }
+            } catch (IOException | RuntimeException ex) {
+                failed = true;
+                logger.fatal("Cannot save game:" + gameId, ex);
+                try {
+                    close();
+                } catch (IOException e) {
+                    logger.error("Cannot close saved game file:" + file, e);
+                }
+                if (file.exists() && !file.delete()) {
+                    logger.warn("Cannot delete saved game file:" + file);
+                }
+            } finally {
+                pendingWrites.decrementAndGet();
+            }
+        }, ioExecutor);
+    }
+
+    private void writeStates(int startIndex, int count, byte[] chunkData) throws IOException {
+        long offset = writeRecord(RECORD_STATES, startIndex, compress(chunkData));
+        // the states from the start index were removed
+        int removeFrom = Math.min(startIndex, stateOffsets.size());
+        stateOffsets.subList(removeFrom, stateOffsets.size()).clear();
+        statePositions.subList(removeFrom, statePositions.size()).clear();
+        for (int i = 0; i < count; i++) {
+            stateOffsets.add(offset);
+            statePositions.add(i);
+        }
+    }
+
+    private void writeIndex(long gameOffset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + stateOffsets.size() * 12);
+        try (DataOutputStream index = new DataOutputStream(bytes)) {
+            index.writeLong(gameOffset);
+            for (int i = 0; i < stateOffsets.size(); i++) {
+                index.writeLong(stateOffsets.get(i));
+                index.writeInt(statePositions.get(i));
+            }
+        }
+        long indexOffset = writeRecord(RECORD_INDEX, stateOffsets.size(), bytes.toByteArray());
+        output.writeLong(indexOffset);
+    }
+
+    private static byte[] toBytes(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return offset of the record in the file
+     */
+    private long writeRecord(byte type, int startIndex, byte[] data) throws IOException {
+        if (output == null) {
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            output.writeInt(MAGIC);
+            written = 4;
+        }
+        long offset = written;
+        output.writeByte(type);
+        output.writeInt(startIndex);
+        output.writeInt(data.length);
+        output.write(data);
+        written += RECORD_HEADER_SIZE + data.length;
+        return offset;
+    }
+
+    private void close() throws IOException {
+        if (output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+    /**
+     * Waits until the saved game is completely written
+     *
+     * @param gameId
+     */
+    public static void waitForGame(UUID gameId) {
+        CompletableFuture<Void> done = finishing.get(gameId);
+        if (done != null) {
+            try {
+                done.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException ex) {
+                logger.warn("Saved game not written:" + gameId, ex);
+            }
+        }
+    }
+
+    /**
+     * @return number of chunks and games that wait to be written
+     */
+    public static int getPendingWrites() {
+        return pendingWrites.get();
+    }
+
+    @FunctionalInterface
+    private interface IOTask {
+
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,140 @@
+package mage.server.management;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InvalidAttributeValueException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
+import mage.util.metrics.MetricTimer;
+
+/**
+ * Exposes the timers of {@link EngineMetrics} as MBean attributes, four for
+ * every {@link EngineMetric}: e.g. ApplyEffectsCount,
+ * ApplyEffectsTotalMillis, ApplyEffectsAverageMicros and
+ * ApplyEffectsMaxMicros.
+ *
+ * The server wide bean has the additional writable Enabled attribute to
+ * switch the measurements off and on.
+ */
+public class EngineMetricsBean implements DynamicMBean {
+
+    private static final String COUNT = "Count";
+    private static final String TOTAL_MILLIS = "TotalMillis";
+    private static final String AVERAGE_MICROS = "AverageMicros";
+    private static final String MAX_MICROS = "MaxMicros";
+    private static final String ENABLED = "Enabled";
+    private static final String RESET = "reset";
+
+    private final EngineMetrics metrics;
+    private final boolean serverWide;
+    private final MBeanInfo info;
+
+    public EngineMetricsBean(EngineMetrics metrics, boolean serverWide, String description) {
+        this.metrics = metrics;
+        this.serverWide = serverWide;
+        this.info = createInfo(description);
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        if (serverWide && ENABLED.equals(attribute)) {
+            return EngineMetrics.isEnabled();
+        }
+        for (EngineMetric metric : EngineMetric.values()) {
+            String name = metric.toString();
+            if (attribute.startsWith(name)) {
+                MetricTimer timer = metrics.getTimer(metric);
+                switch (attribute.substring(name.length())) {
+                    case COUNT:
+                        return timer.getCount();
+                    case TOTAL_MILLIS:
+                        return timer.getTotalNanos() / 1000000;
+                    case AVERAGE_MICROS:
+                        return timer.getAverageNanos() / 1000;
+                    case MAX_MICROS:
+                        return timer.getMaxNanos() / 1000;
+                }
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException, InvalidAttributeValueException {
+        if (!serverWide || !ENABLED.equals(attribute.getName())) {
+            throw new AttributeNotFoundException(attribute.getName());
+        }
+        if (!(attribute.getValue() instanceof Boolean)) {
+            throw new InvalidAttributeValueException("Enabled must be a boolean");
+        }
+        EngineMetrics.setEnabled((Boolean) attribute.getValue());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException ex) {
+                // not returned, like the standard MBeans do
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        AttributeList list = new AttributeList();
+        for (Attribute attribute : attributes.asList()) {
+            try {
+                setAttribute(attribute);
+                list.add(attribute);
+            } catch (AttributeNotFoundException | InvalidAttributeValueException ex) {
+                // not returned, like the standard MBeans do
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        if (RESET.equals(actionName)) {
+            metrics.reset();
+            return null;
+        }
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        return info;
+    }
+
+    private MBeanInfo createInfo(String description) {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        if (serverWide) {
+            attributes.add(new MBeanAttributeInfo(ENABLED, "boolean", "Measure the engine hot paths", true, true, true));
+        }
+        for (EngineMetric metric : EngineMetric.values()) {
+            String name = metric.toString();
+            attributes.add(new MBeanAttributeInfo(name + COUNT, "long", "Number of calls", true, false, false));
+            attributes.add(new MBeanAttributeInfo(name + TOTAL_MILLIS, "long", "Total time in ms", true, false, false));
+            attributes.add(new MBeanAttributeInfo(name + AVERAGE_MICROS, "long", "Average time in microseconds", true, false, false));
+            attributes.add(new MBeanAttributeInfo(name + MAX_MICROS, "long", "Longest call in microseconds", true, false, false));
+        }
+        MBeanOperationInfo reset = new MBeanOperationInfo(RESET, "Resets all timers", new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+        return new MBeanInfo(getClass().getName(), description,
+                attributes.toArray(new MBeanAttributeInfo[attributes.size()]),
+                null, new MBeanOperationInfo[]{reset}, null);
+    }
+}
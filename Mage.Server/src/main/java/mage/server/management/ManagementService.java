@@ -0,0 +1,75 @@
+package mage.server.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import mage.game.Game;
+import mage.util.metrics.EngineMetrics;
+import org.apache.log4j.Logger;
+
+/**
+ * Registers the server MBeans on the platform MBean server, so they can be
+ * watched with jconsole or any other JMX client:
+ * <ul>
+ * <li>org.mage:type=Server - games, thread pools and callbacks</li>
+ * <li>org.mage:type=Engine - engine timers summed up over all games</li>
+ * <li>org.mage:type=Game,id=[gameId] - engine timers of a running game</li>
+ * </ul>
+ */
+public enum ManagementService {
+    instance;
+
+    private static final Logger logger = Logger.getLogger(ManagementService.class);
+    private static final String DOMAIN = "org.mage";
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public void registerServer() {
+        register(name("type=Server"), ServerMetrics.instance);
+        register(name("type=Engine"), new EngineMetricsBean(EngineMetrics.getServerMetrics(), true, "Engine timers of all games"));
+    }
+
+    public void registerGame(Game game) {
+        register(gameName(game.getId()), new EngineMetricsBean(game.getMetrics(), false, "Engine timers of game " + game.getId()));
+    }
+
+    public void unregisterGame(UUID gameId) {
+        ObjectName name = gameName(gameId);
+        try {
+            if (name != null && mBeanServer.isRegistered(name)) {
+                mBeanServer.unregisterMBean(name);
+            }
+        } catch (JMException ex) {
+            logger.warn("Can't unregister MBean " + name, ex);
+        }
+    }
+
+    private void register(ObjectName name, Object bean) {
+        if (name == null) {
+            return;
+        }
+        try {
+            if (mBeanServer.isRegistered(name)) {
+                mBeanServer.unregisterMBean(name);
+            }
+            mBeanServer.registerMBean(bean, name);
+        } catch (JMException ex) {
+            logger.warn("Can't register MBean " + name, ex);
+        }
+    }
+
+    private ObjectName gameName(UUID gameId) {
+        return name("type=Game,id=" + gameId);
+    }
+
+    private ObjectName name(String properties) {
+        try {
+            return new ObjectName(DOMAIN + ':' + properties);
+        } catch (JMException ex) {
+            logger.warn("Invalid MBean name " + properties, ex);
+            return null;
+        }
+    }
+}
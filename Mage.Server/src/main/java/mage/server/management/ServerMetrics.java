@@ -0,0 +1,112 @@
+package mage.server.management;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import mage.players.ai.AiGovernor;
+import mage.server.UserManager;
+import mage.server.game.GameManager;
+import mage.server.game.SavedGameWriter;
+import mage.server.util.ConfigSettings;
+import mage.server.util.ThreadExecutor;
+
+/**
+ * The callbacks in flight are the callbacks handed to the remoting layer that
+ * did not return yet. The remoting layer doesn't expose its own queue, so this
+ * is the best available approximation of the outgoing queue depth.
+ */
+public enum ServerMetrics implements ServerMetricsMBean {
+    instance;
+
+    private final AtomicInteger callbacksInFlight = new AtomicInteger();
+    private final LongAdder callbacksSent = new LongAdder();
+
+    public void callbackStarted() {
+        callbacksInFlight.incrementAndGet();
+    }
+
+    public void callbackFinished() {
+        callbacksInFlight.decrementAndGet();
+        callbacksSent.increment();
+    }
+
+    @Override
+    public int getActiveGames() {
+        return GameManager.instance.getNumberActiveGames();
+    }
+
+    @Override
+    public int getActiveUsers() {
+        return UserManager.instance.getUsers().size();
+    }
+
+    @Override
+    public int getGameThreadsActive() {
+        return ThreadExecutor.instance.getActiveThreads(ThreadExecutor.instance.getGameExecutor());
+    }
+
+    @Override
+    public int getGameThreadsMax() {
+        return ConfigSettings.instance.getMaxGameThreads();
+    }
+
+    @Override
+    public int getGameQueueSize() {
+        ExecutorService executor = ThreadExecutor.instance.getGameExecutor();
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return -1;
+    }
+
+    @Override
+    public int getCallThreadsActive() {
+        return ThreadExecutor.instance.getActiveThreads(ThreadExecutor.instance.getCallExecutor());
+    }
+
+    @Override
+    public int getCallbacksInFlight() {
+        return callbacksInFlight.get();
+    }
+
+    @Override
+    public long getCallbacksSent() {
+        return callbacksSent.sum();
+    }
+
+    @Override
+    public int getAiCpuThreads() {
+        return AiGovernor.instance.getCpuThreads();
+    }
+
+    @Override
+    public int getAiActiveSearches() {
+        return AiGovernor.instance.getActiveSearches();
+    }
+
+    @Override
+    public int getAiActiveThreads() {
+        return AiGovernor.instance.getActiveThreads();
+    }
+
+    @Override
+    public double getAiThinkTimeScale() {
+        return AiGovernor.instance.getCurrentScale();
+    }
+
+    @Override
+    public long getAiSearches() {
+        return AiGovernor.instance.getSearches();
+    }
+
+    @Override
+    public long getAiSearchThreadMillis() {
+        return AiGovernor.instance.getSearchThreadMillis();
+    }
+
+    @Override
+    public int getSavedGamePendingWrites() {
+        return SavedGameWriter.getPendingWrites();
+    }
+}
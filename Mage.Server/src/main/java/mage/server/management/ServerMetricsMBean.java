@@ -0,0 +1,38 @@
+package mage.server.management;
+
+/**
+ * Load of the server: games, thread pools, the callbacks to the clients, the
+ * searches of the AI players and the saved games that wait to be written.
+ */
+public interface ServerMetricsMBean {
+
+    int getActiveGames();
+
+    int getActiveUsers();
+
+    int getGameThreadsActive();
+
+    int getGameThreadsMax();
+
+    int getGameQueueSize();
+
+    int getCallThreadsActive();
+
+    int getCallbacksInFlight();
+
+    long getCallbacksSent();
+
+    int getAiCpuThreads();
+
+    int getAiActiveSearches();
+
+    int getAiActiveThreads();
+
+    double getAiThinkTimeScale();
+
+    long getAiSearches();
+
+    long getAiSearchThreadMillis();
+
+    int getSavedGamePendingWrites();
+}
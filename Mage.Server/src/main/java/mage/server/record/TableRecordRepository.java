@@ -9,7 +9,14 @@ import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableUtils;
 import java.io.File;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import mage.cards.repository.RepositoryUtil;
 import org.apache.log4j.Logger;
 
@@ -21,8 +28,16 @@ public enum TableRecordRepository {
     private static final String VERSION_ENTITY_NAME = "table_record";
     // raise this if db structure was changed
     private static final long DB_VERSION = 0;
+    private static final int WRITER_STOP_TIMEOUT_SECONDS = 30;
 
     private Dao<TableRecord, Object> dao;
+    // records not written yet, they are written in batches by the writer thread
+    private final BlockingQueue<TableRecord> pending = new LinkedBlockingQueue<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "TABLE RECORD WRITER");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     TableRecordRepository() {
         File file = new File("db");
@@ -52,6 +67,55 @@ public enum TableRecordRepository {
         }
     }
 
+    /**
+     * Adds the records in one transaction
+     *
+     * @param tableRecords
+     */
+    public void add(final List<TableRecord> tableRecords) {
+        try {
+            dao.callBatchTasks(() -> {
+                for (TableRecord tableRecord : tableRecords) {
+                    dao.create(tableRecord);
+                }
+                return null;
+            });
+        } catch (Exception ex) {
+            Logger.getLogger(TableRecordRepository.class).error("Error adding table_records to DB - ", ex);
+        }
+    }
+
+    /**
+     * Adds the record in the background. All records queued until the
+     * writer is free are written in one transaction.
+     *
+     * @param tableRecord
+     * @param afterWrite called on the writer thread after the record was
+     * written, e.g. to update the user stats
+     */
+    public void addLater(TableRecord tableRecord, Runnable afterWrite) {
+        pending.add(tableRecord);
+        try {
+            writer.execute(() -> {
+                if (writePending() > 0 && afterWrite != null) {
+                    afterWrite.run();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // the DB is closed, the record is written by closeDB if it is still running
+            Logger.getLogger(TableRecordRepository.class).warn("table_record added after closing the repository");
+        }
+    }
+
+    private int writePending() {
+        List<TableRecord> tableRecords = new ArrayList<>();
+        pending.drainTo(tableRecords);
+        if (!tableRecords.isEmpty()) {
+            add(tableRecords);
+        }
+        return tableRecords.size();
+    }
+
     public List<TableRecord> getAfter(long endTimeMs) {
         try {
             QueryBuilder<TableRecord, Object> qb = dao.queryBuilder();
@@ -65,6 +129,16 @@ public enum TableRecordRepository {
     }
 
     public void closeDB() {
+        // the last batch must be written before the connection is closed
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(WRITER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Logger.getLogger(TableRecordRepository.class).warn("table_record writer not finished before closing the DB");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writePending();
         try {
             if (dao != null && dao.getConnectionSource() != null) {
                 DatabaseConnection conn = dao.getConnectionSource().getReadWriteConnection();
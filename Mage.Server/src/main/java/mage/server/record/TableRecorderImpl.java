@@ -12,7 +12,7 @@ public enum TableRecorderImpl implements TableRecorder {
     @Override
     public void record(Table table) {
         TableProto proto = table.toProto();
-        TableRecordRepository.instance.add(new TableRecord(proto, proto.getEndTimeMs()));
-        UserManager.instance.updateUserHistory();
+        TableRecordRepository.instance.addLater(new TableRecord(proto, proto.getEndTimeMs()),
+                UserManager.instance::updateUserHistory);
     }
 }
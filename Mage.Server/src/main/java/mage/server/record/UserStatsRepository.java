@@ -16,8 +16,12 @@ import org.apache.log4j.Logger;
 import java.io.File;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public enum UserStatsRepository {
@@ -28,8 +32,12 @@ public enum UserStatsRepository {
     private static final String VERSION_ENTITY_NAME = "user_stats";
     // raise this if db structure was changed
     private static final long DB_VERSION = 0;
+    // max number of user names in one query
+    private static final int USERS_PER_QUERY = 500;
 
     private Dao<UserStats, Object> dao;
+    // end time of the last table reflected to the DB, -1 if not read from the DB yet
+    private long latestEndTimeMs = -1;
 
     UserStatsRepository() {
         File file = new File("db");
@@ -67,6 +75,50 @@ public enum UserStatsRepository {
         }
     }
 
+    /**
+     * Adds or updates the stats in one transaction
+     *
+     * @param userStats
+     * @return false if the stats could not be written
+     */
+    public boolean save(final Collection<UserStats> userStats) {
+        try {
+            dao.callBatchTasks(() -> {
+                for (UserStats stats : userStats) {
+                    dao.createOrUpdate(stats);
+                }
+                return null;
+            });
+            return true;
+        } catch (Exception ex) {
+            Logger.getLogger(UserStatsRepository.class).error("Error saving user_stats to DB - ", ex);
+        }
+        return false;
+    }
+
+    /**
+     * @param userNames
+     * @return stats of the users found in the DB by user name, null if the
+     * users could not be read
+     */
+    public Map<String, UserStats> getUsers(Collection<String> userNames) {
+        Map<String, UserStats> users = new HashMap<>();
+        List<String> names = new ArrayList<>(userNames);
+        try {
+            for (int i = 0; i < names.size(); i += USERS_PER_QUERY) {
+                QueryBuilder<UserStats, Object> qb = dao.queryBuilder();
+                qb.where().in("userName", names.subList(i, Math.min(i + USERS_PER_QUERY, names.size())));
+                for (UserStats userStats : dao.query(qb.prepare())) {
+                    users.put(userStats.getProto().getName(), userStats);
+                }
+            }
+            return users;
+        } catch (SQLException ex) {
+            Logger.getLogger(UserStatsRepository.class).error("Error getting users from DB - ", ex);
+        }
+        return null;
+    }
+
     public UserStats getUser(String userName) {
         try {
             QueryBuilder<UserStats, Object> qb = dao.queryBuilder();
@@ -107,14 +159,32 @@ public enum UserStatsRepository {
 
     // updateUserStats reads tables finished after the last DB update and reflects it to the DB.
     // It returns the list of user names that are upated.
+    // The stats of all read tables are updated in memory and written to the DB in one transaction.
     public List<String> updateUserStats() {
         Set<String> updatedUsers = new HashSet<>();
         // Lock the DB so that no other updateUserStats runs at the same time.
         synchronized(this) {
-            long latestEndTimeMs = this.getLatestEndTimeMs();
+            if (latestEndTimeMs < 0) {
+                latestEndTimeMs = this.getLatestEndTimeMs();
+            }
             List<TableRecord> records = TableRecordRepository.instance.getAfter(latestEndTimeMs);
+            if (records == null || records.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<ResultProtos.TableProto> tables = new ArrayList<>(records.size());
             for (TableRecord record : records) {
-                ResultProtos.TableProto table = record.getProto();
+                tables.add(record.getProto());
+            }
+            // current stats of all users of the tables, changed stats are written at the end
+            Map<String, UserStats> users = this.getUsers(getUserNames(tables));
+            if (users == null) {
+                // the stats of existing users would be overwritten, the tables are read again with the next update
+                return new ArrayList<>();
+            }
+            Map<String, UserStats> changedUsers = new LinkedHashMap<>();
+            long endTimeMs = latestEndTimeMs;
+            for (ResultProtos.TableProto table : tables) {
+                endTimeMs = Math.max(endTimeMs, table.getEndTimeMs());
                 if (table.getControllerName().equals("System")) {
                     // This is a sub table within a tournament, so it's already handled by the main
                     // tournament table.
@@ -123,7 +193,7 @@ public enum UserStatsRepository {
                 if (table.hasMatch()) {
                     ResultProtos.MatchProto match = table.getMatch();
                     for (ResultProtos.MatchPlayerProto player : match.getPlayersList()) {
-                        UserStats userStats = this.getUser(player.getName());
+                        UserStats userStats = users.get(player.getName());
                         ResultProtos.UserStatsProto proto =
                             userStats != null
                                 ? userStats.getProto()
@@ -141,18 +211,14 @@ public enum UserStatsRepository {
                                 builder.setMatchesQuit(proto.getMatchesQuit() + 1);
                                 break;
                         }
-                        if (userStats == null) {
-                            this.add(new UserStats(builder.build(), table.getEndTimeMs()));
-                        } else {
-                            this.update(new UserStats(builder.build(), table.getEndTimeMs()));
-                        }
+                        put(users, changedUsers, new UserStats(builder.build(), table.getEndTimeMs()));
                         updatedUsers.add(player.getName());
                     }
-                    updateRating(match, table.getEndTimeMs());
+                    updateRating(match, table.getEndTimeMs(), users, changedUsers);
                 } else if (table.hasTourney()) {
                     ResultProtos.TourneyProto tourney = table.getTourney();
                     for (ResultProtos.TourneyPlayerProto player : tourney.getPlayersList()) {
-                        UserStats userStats = this.getUser(player.getName());
+                        UserStats userStats = users.get(player.getName());
                         ResultProtos.UserStatsProto proto = userStats != null ? userStats.getProto()
                                 : ResultProtos.UserStatsProto.newBuilder().setName(player.getName()).build();
                         ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(proto)
@@ -168,26 +234,59 @@ public enum UserStatsRepository {
                                 builder.setTourneysQuitDuringConstruction(proto.getTourneysQuitDuringConstruction() + 1);
                                 break;
                         }
-                        if (userStats == null) {
-                            this.add(new UserStats(builder.build(), table.getEndTimeMs()));
-                        } else {
-                            this.update(new UserStats(builder.build(), table.getEndTimeMs()));
-                        }
+                        put(users, changedUsers, new UserStats(builder.build(), table.getEndTimeMs()));
                         updatedUsers.add(player.getName());
                     }
 
                     for (ResultProtos.TourneyRoundProto round : tourney.getRoundsList()) {
                         for (ResultProtos.MatchProto match : round.getMatchesList()) {
-                            updateRating(match, table.getEndTimeMs());
+                            updateRating(match, table.getEndTimeMs(), users, changedUsers);
                         }
                     }
                 }
             }
+            if (this.save(changedUsers.values())) {
+                latestEndTimeMs = endTimeMs;
+            } else {
+                // read the state of the DB again with the next update
+                latestEndTimeMs = -1;
+                return new ArrayList<>();
+            }
         }
         return new ArrayList<>(updatedUsers);
     }
 
-    private void updateRating(ResultProtos.MatchProto match, long tableEndTimeMs) {
+    private static Set<String> getUserNames(List<ResultProtos.TableProto> tables) {
+        Set<String> names = new HashSet<>();
+        for (ResultProtos.TableProto table : tables) {
+            if (table.hasMatch()) {
+                for (ResultProtos.MatchPlayerProto player : table.getMatch().getPlayersList()) {
+                    names.add(player.getName());
+                }
+            } else if (table.hasTourney()) {
+                for (ResultProtos.TourneyPlayerProto player : table.getTourney().getPlayersList()) {
+                    names.add(player.getName());
+                }
+                for (ResultProtos.TourneyRoundProto round : table.getTourney().getRoundsList()) {
+                    for (ResultProtos.MatchProto match : round.getMatchesList()) {
+                        for (ResultProtos.MatchPlayerProto player : match.getPlayersList()) {
+                            names.add(player.getName());
+                        }
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    private static void put(Map<String, UserStats> users, Map<String, UserStats> changedUsers, UserStats userStats) {
+        String name = userStats.getProto().getName();
+        users.put(name, userStats);
+        changedUsers.put(name, userStats);
+    }
+
+    private void updateRating(ResultProtos.MatchProto match, long tableEndTimeMs,
+            Map<String, UserStats> users, Map<String, UserStats> changedUsers) {
         long matchEndTimeMs;
         if (match.hasEndTimeMs()) {
             matchEndTimeMs = match.getEndTimeMs();
@@ -234,9 +333,9 @@ public enum UserStatsRepository {
         }
 
         // get players stats
-        UserStats player1Stats = getOrCreateUserStats(player1.getName(), tableEndTimeMs);
+        UserStats player1Stats = getOrCreateUserStats(player1.getName(), tableEndTimeMs, users, changedUsers);
         ResultProtos.UserStatsProto player1StatsProto = player1Stats.getProto();
-        UserStats player2Stats = getOrCreateUserStats(player2.getName(), tableEndTimeMs);
+        UserStats player2Stats = getOrCreateUserStats(player2.getName(), tableEndTimeMs, users, changedUsers);
         ResultProtos.UserStatsProto player2StatsProto = player2Stats.getProto();
 
         ResultProtos.UserStatsProto.Builder player1StatsBuilder =
@@ -310,8 +409,8 @@ public enum UserStatsRepository {
         }
 
 
-        this.update(new UserStats(player1StatsBuilder.build(), player1Stats.getEndTimeMs()));
-        this.update(new UserStats(player2StatsBuilder.build(), player2Stats.getEndTimeMs()));
+        put(users, changedUsers, new UserStats(player1StatsBuilder.build(), player1Stats.getEndTimeMs()));
+        put(users, changedUsers, new UserStats(player2StatsBuilder.build(), player2Stats.getEndTimeMs()));
     }
 
     private void updateRating(
@@ -356,12 +455,13 @@ public enum UserStatsRepository {
                 .setLastGameTimeMs(tableEndTimeMs);
     }
 
-    private UserStats getOrCreateUserStats(String playerName, long endTimeMs) {
-        UserStats userStats = this.getUser(playerName);
+    private UserStats getOrCreateUserStats(String playerName, long endTimeMs,
+            Map<String, UserStats> users, Map<String, UserStats> changedUsers) {
+        UserStats userStats = users.get(playerName);
         if (userStats == null) {
             ResultProtos.UserStatsProto userStatsProto = ResultProtos.UserStatsProto.newBuilder().setName(playerName).build();
             userStats = new UserStats(userStatsProto, endTimeMs);
-            this.add(userStats);
+            put(users, changedUsers, userStats);
         }
         return userStats;
     }
@@ -124,6 +124,10 @@ public enum ConfigSettings {
         return config.getServer().getMaxAiOpponents();
     }
 
+    public String getAiCpuThreads() {
+        return config.getServer().getAiCpuThreads();
+    }
+
     public Boolean isSaveGameActivated() {
         return config.getServer().isSaveGameActivated();
     }
@@ -260,7 +260,7 @@ public class AetherRevolt extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialLand() {
+    public synchronized List<CardInfo> getSpecialLand() {
         if (savedSpecialLand.isEmpty()) {
             CardCriteria criteria = new CardCriteria();
             criteria.setCodes("MPS");
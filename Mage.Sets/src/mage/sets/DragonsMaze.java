@@ -251,7 +251,7 @@ public class DragonsMaze extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialRare() {
+    public synchronized List<CardInfo> getSpecialRare() {
         List<CardInfo> specialRares = new ArrayList<>();
         if (savedSpecialRares == null) {
             CardCriteria criteria = new CardCriteria();
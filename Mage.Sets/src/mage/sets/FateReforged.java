@@ -276,7 +276,7 @@ public class FateReforged extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialCommon() {
+    public synchronized List<CardInfo> getSpecialCommon() {
         List<CardInfo> specialCommons = new ArrayList<>();
         if (savedSpecialCommon.isEmpty()) {
             // the 10 common lands from Fate Reforged can show up in the basic lands slot
@@ -292,7 +292,7 @@ public class FateReforged extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialRare() {
+    public synchronized List<CardInfo> getSpecialRare() {
         List<CardInfo> specialRares = new ArrayList<>();
         if (savedSpecialRares.isEmpty()) {
             CardCriteria criteria = new CardCriteria();
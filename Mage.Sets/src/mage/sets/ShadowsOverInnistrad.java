@@ -28,8 +28,10 @@
 package mage.sets;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import mage.cards.Card;
 import mage.cards.ExpansionSet;
 import mage.cards.repository.CardCriteria;
@@ -51,7 +53,7 @@ public class ShadowsOverInnistrad extends ExpansionSet {
         return instance;
     }
 
-    protected final EnumMap<Rarity, List<CardInfo>> savedDoubleFacedCards;
+    protected final Map<Rarity, List<CardInfo>> savedDoubleFacedCards;
 
     private ShadowsOverInnistrad() {
         super("Shadows over Innistrad", "SOI", ExpansionSet.buildDate(2016, 4, 8), SetType.EXPANSION);
@@ -64,7 +66,7 @@ public class ShadowsOverInnistrad extends ExpansionSet {
         this.numBoosterRare = 1;
         this.ratioBoosterMythic = 8;
         this.numBoosterDoubleFaced = 1;
-        savedDoubleFacedCards = new EnumMap<>(Rarity.class);
+        savedDoubleFacedCards = Collections.synchronizedMap(new EnumMap<>(Rarity.class));
         cards.add(new SetCardInfo("Aberrant Researcher", 49, Rarity.UNCOMMON, mage.cards.a.AberrantResearcher.class));
         cards.add(new SetCardInfo("Accursed Witch", 97, Rarity.UNCOMMON, mage.cards.a.AccursedWitch.class));
         cards.add(new SetCardInfo("Aim High", 193, Rarity.COMMON, mage.cards.a.AimHigh.class));
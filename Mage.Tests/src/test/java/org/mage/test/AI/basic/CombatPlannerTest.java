@@ -0,0 +1,159 @@
+package org.mage.test.AI.basic;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.permanent.Permanent;
+import mage.player.ai.CombatPlanner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Attacks and blocks the simulations of the AI start with. The combat is
+ * stopped before it's declared, playerA attacks on turn 1 and blocks on turn
+ * 2.
+ */
+public class CombatPlannerTest extends CardTestPlayerBase {
+
+    private static final int CANDIDATES = 8;
+
+    /**
+     * A 2/2 doesn't attack into a 6/4 that blocks and kills it
+     */
+    @Test
+    public void testNoAttackIntoBiggerBlocker() {
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion"); // 2/2
+        addCard(Zone.BATTLEFIELD, playerB, "Craw Wurm"); // 6/4
+
+        setStopAt(1, PhaseStep.DECLARE_ATTACKERS);
+        execute();
+
+        Assert.assertTrue("Best attack has to be no attack", getBestAttack().isEmpty());
+    }
+
+    /**
+     * Blocking a creature with deathtouch costs the blocker, so the 1/1 can
+     * attack into the 6/4
+     */
+    @Test
+    public void testAttackWithDeathtouch() {
+        addCard(Zone.BATTLEFIELD, playerA, "Typhoid Rats"); // 1/1 deathtouch
+        addCard(Zone.BATTLEFIELD, playerB, "Craw Wurm"); // 6/4
+
+        setStopAt(1, PhaseStep.DECLARE_ATTACKERS);
+        execute();
+
+        List<UUID> attack = getBestAttack();
+        Assert.assertEquals("Best attack has to be with Typhoid Rats", 1, attack.size());
+        Assert.assertEquals(getPermanent("Typhoid Rats", playerA).getId(), attack.get(0));
+    }
+
+    /**
+     * The 2/2 chump blocks because the 6/4 would deal lethal damage
+     */
+    @Test
+    public void testChumpBlockAgainstLethalDamage() {
+        setLife(playerA, 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion"); // 2/2
+        addCard(Zone.BATTLEFIELD, playerB, "Craw Wurm"); // 6/4
+
+        attack(2, playerB, "Craw Wurm");
+
+        setStopAt(2, PhaseStep.DECLARE_BLOCKERS);
+        execute();
+
+        Map<UUID, Integer> blocks = getBestBlock();
+        Assert.assertEquals("Silvercoat Lion has to block", 1, blocks.size());
+        Assert.assertEquals(Integer.valueOf(0), blocks.get(getPermanent("Silvercoat Lion", playerA).getId()));
+    }
+
+    /**
+     * A chump block doesn't help against a trampler that deals lethal damage
+     * anyway
+     */
+    @Test
+    public void testNoChumpBlockAgainstTrample() {
+        setLife(playerA, 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion"); // 2/2
+        addCard(Zone.BATTLEFIELD, playerB, "Crash of Rhinos"); // 8/4 trample
+
+        attack(2, playerB, "Crash of Rhinos");
+
+        setStopAt(2, PhaseStep.DECLARE_BLOCKERS);
+        execute();
+
+        Assert.assertTrue("Best block has to be no block", getBestBlock().isEmpty());
+    }
+
+    /**
+     * The 2/2 first striker kills the 2/2 blocker before it deals damage, so
+     * it's not blocked
+     */
+    @Test
+    public void testNoBlockAgainstFirstStrike() {
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion"); // 2/2
+        addCard(Zone.BATTLEFIELD, playerB, "White Knight"); // 2/2 first strike
+
+        attack(2, playerB, "White Knight");
+
+        setStopAt(2, PhaseStep.DECLARE_BLOCKERS);
+        execute();
+
+        Assert.assertTrue("Best block has to be no block", getBestBlock().isEmpty());
+    }
+
+    /**
+     * The 1/1 with deathtouch blocks and kills the 6/4
+     */
+    @Test
+    public void testBlockWithDeathtouch() {
+        addCard(Zone.BATTLEFIELD, playerA, "Typhoid Rats"); // 1/1 deathtouch
+        addCard(Zone.BATTLEFIELD, playerB, "Craw Wurm"); // 6/4
+
+        attack(2, playerB, "Craw Wurm");
+
+        setStopAt(2, PhaseStep.DECLARE_BLOCKERS);
+        execute();
+
+        Assert.assertFalse("No block requirements", CombatPlanner.hasBlockRequirements(currentGame, playerA.getAvailableBlockers(currentGame)));
+        Map<UUID, Integer> blocks = getBestBlock();
+        Assert.assertEquals("Typhoid Rats has to block", 1, blocks.size());
+        Assert.assertEquals(Integer.valueOf(0), blocks.get(getPermanent("Typhoid Rats", playerA).getId()));
+    }
+
+    /**
+     * Creatures that have to block a creature enchanted with Lure are not part
+     * of the combat model, the AI has to search the blocks on the game
+     */
+    @Test
+    public void testLureIsBlockRequirement() {
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion"); // 2/2
+        addCard(Zone.BATTLEFIELD, playerB, "Craw Wurm"); // 6/4
+        addCard(Zone.BATTLEFIELD, playerB, "Forest", 3);
+        // Enchant creature
+        // All creatures able to block enchanted creature do so.
+        addCard(Zone.HAND, playerB, "Lure"); // {1}{G}{G}
+
+        castSpell(2, PhaseStep.PRECOMBAT_MAIN, playerB, "Lure", "Craw Wurm");
+        attack(2, playerB, "Craw Wurm");
+
+        setStopAt(2, PhaseStep.DECLARE_BLOCKERS);
+        execute();
+
+        assertPermanentCount(playerB, "Lure", 1);
+        Assert.assertTrue("Lure has to be a block requirement", CombatPlanner.hasBlockRequirements(currentGame, playerA.getAvailableBlockers(currentGame)));
+    }
+
+    private List<UUID> getBestAttack() {
+        List<Permanent> attackers = playerA.getAvailableAttackers(playerB.getId(), currentGame);
+        return CombatPlanner.forAttack(currentGame, playerA.getId(), playerB.getId(), attackers).planAttacks(CANDIDATES).get(0);
+    }
+
+    private Map<UUID, Integer> getBestBlock() {
+        List<Permanent> blockers = playerA.getAvailableBlockers(currentGame);
+        return CombatPlanner.forBlock(currentGame, playerA.getId(), blockers).planBlocks(CANDIDATES).get(0);
+    }
+}
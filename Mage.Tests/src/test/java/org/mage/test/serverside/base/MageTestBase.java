@@ -291,7 +291,11 @@ public abstract class MageTestBase {
     }
 
     protected Player createPlayer(String name, PlayerType playerType) {
-        Optional<Player> playerOptional = PlayerFactory.instance.createPlayer(playerType, name, RangeOfInfluence.ALL, 5);
+        return createPlayer(name, playerType, 5);
+    }
+
+    protected Player createPlayer(String name, PlayerType playerType, int skill) {
+        Optional<Player> playerOptional = PlayerFactory.instance.createPlayer(playerType, name, RangeOfInfluence.ALL, skill);
         return playerOptional.orElseThrow(() -> new NullPointerException("PlayerFactory error - player is not created"));
     }
 
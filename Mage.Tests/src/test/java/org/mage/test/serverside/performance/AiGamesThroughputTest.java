@@ -0,0 +1,195 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import mage.cards.Card;
+import mage.cards.Sets;
+import mage.cards.decks.Deck;
+import mage.cards.decks.importer.DeckImporterUtil;
+import mage.constants.ColoredManaSymbol;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.PhaseStep;
+import mage.constants.RangeOfInfluence;
+import mage.game.Game;
+import mage.game.GameException;
+import mage.game.GameOptions;
+import mage.game.TwoPlayerDuel;
+import mage.player.ai.ComputerPlayer;
+import mage.players.Player;
+import mage.players.PlayerType;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.serverside.base.MageTestBase;
+
+/**
+ * Plays a batch of AI vs AI games on a worker pool and reports the
+ * throughput: games/hour, player actions/second, time per step and the
+ * crash/timeout rates.
+ *
+ * Configured with system properties (defaults in brackets): games [20],
+ * threads [number of cores], playerA/playerB [Computer - mad], deckA/deckB
+ * [random, or a deck file like "RB Aggro.dck"], skill [4], maxTurns [40] and
+ * timeoutMinutes [10]. The AI players are loaded from the plugins folder like
+ * in the other tests.
+ */
+public class AiGamesThroughputTest extends MageTestBase {
+
+    private static final List<String> colorChoices = Arrays.asList("bu", "bg", "br", "bw", "ug", "ur", "uw", "gr", "gw", "rw", "bur", "buw", "bug", "brg", "brw", "bgw", "wur", "wug", "wrg", "rgu");
+
+    private enum GameResult {
+        FINISHED, TURN_LIMIT, TIMEOUT, CRASH
+    }
+
+    private final int games = Integer.getInteger("games", 20);
+    private final int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+    private final PlayerType playerTypeA = PlayerType.getByDescription(System.getProperty("playerA", PlayerType.COMPUTER_MAD.toString()));
+    private final PlayerType playerTypeB = PlayerType.getByDescription(System.getProperty("playerB", PlayerType.COMPUTER_MAD.toString()));
+    private final String deckA = System.getProperty("deckA", "random");
+    private final String deckB = System.getProperty("deckB", "random");
+    private final int skill = Integer.getInteger("skill", 4);
+    private final int maxTurns = Integer.getInteger("maxTurns", 40);
+    private final int timeoutMinutes = Integer.getInteger("timeoutMinutes", 10);
+
+    @Test
+    @Ignore
+    public void playGames() throws Exception {
+        Logger.getRootLogger().setLevel(Level.INFO);
+
+        logger.info("Building decks for " + games + " games...");
+        List<Deck[]> decks = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            decks.add(new Deck[]{loadDeck(deckA), loadDeck(deckB)});
+        }
+
+        logger.info("Playing " + games + " games " + playerTypeA + " vs " + playerTypeB + " on " + threads + " threads");
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        // the games run on their own threads, so a worker can give up on a game that doesn't end
+        ExecutorService gameRunner = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "AI GAME");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<GameResult>> results = new ArrayList<>();
+        List<GameThroughputWatcher.Statistics> statistics = new ArrayList<>();
+        long t1 = System.nanoTime();
+        for (Deck[] gameDecks : decks) {
+            GameThroughputWatcher.Statistics gameStatistics = new GameThroughputWatcher.Statistics();
+            statistics.add(gameStatistics);
+            results.add(workers.submit(() -> playGame(gameDecks[0], gameDecks[1], gameStatistics, gameRunner)));
+        }
+        Map<GameResult, Integer> resultCount = new EnumMap<>(GameResult.class);
+        for (Future<GameResult> result : results) {
+            resultCount.merge(result.get(), 1, Integer::sum);
+        }
+        long t2 = System.nanoTime();
+        workers.shutdown();
+        gameRunner.shutdownNow();
+
+        report(resultCount, statistics, t2 - t1);
+    }
+
+    private GameResult playGame(Deck deck1, Deck deck2, GameThroughputWatcher.Statistics statistics, ExecutorService gameRunner) {
+        Game game = new TwoPlayerDuel(MultiplayerAttackOption.LEFT, RangeOfInfluence.ALL, 0, 20);
+        Future<?> gameFuture = null;
+        try {
+            Player computerA = addPlayer(game, "ComputerA", playerTypeA, deck1);
+            addPlayer(game, "ComputerB", playerTypeB, deck2);
+            game.getState().addWatcher(new GameThroughputWatcher(statistics));
+
+            GameOptions options = new GameOptions();
+            options.testMode = true;
+            options.stopOnTurn = maxTurns;
+            game.setGameOptions(options);
+            gameFuture = gameRunner.submit(() -> game.start(computerA.getId()));
+            gameFuture.get(timeoutMinutes, TimeUnit.MINUTES);
+            statistics.gameFinished();
+        } catch (TimeoutException e) {
+            logger.warn("Game " + game.getId() + " timed out");
+            game.end();
+            gameFuture.cancel(true);
+            return GameResult.TIMEOUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return GameResult.CRASH;
+        } catch (ExecutionException e) {
+            logger.error("Game " + game.getId() + " crashed", e.getCause());
+            return GameResult.CRASH;
+        } catch (Exception e) {
+            logger.error("Game " + game.getId() + " crashed", e);
+            return GameResult.CRASH;
+        }
+        if (game.hasEnded() && !game.isADraw()) {
+            return GameResult.FINISHED;
+        }
+        if (game.getTurnNum() >= maxTurns) {
+            return GameResult.TURN_LIMIT;
+        }
+        return GameResult.FINISHED;
+    }
+
+    private Player addPlayer(Game game, String name, PlayerType playerType, Deck deck) throws GameException {
+        Player player = createPlayer(name, playerType, skill);
+        game.addPlayer(player, deck);
+        game.loadCards(deck.getCards(), player.getId());
+        return player;
+    }
+
+    private Deck loadDeck(String deckName) throws GameException {
+        Deck deck;
+        if ("random".equals(deckName)) {
+            deck = generateRandomDeck();
+        } else {
+            deck = Deck.load(DeckImporterUtil.importDeck(deckName), false, false);
+        }
+        if (deck.getCards().size() < 40) {
+            throw new IllegalArgumentException("Couldn't load deck, deck size=" + deck.getCards().size());
+        }
+        return deck;
+    }
+
+    private Deck generateRandomDeck() {
+        String selectedColors = colorChoices.get(new Random().nextInt(colorChoices.size())).toUpperCase();
+        List<ColoredManaSymbol> allowedColors = new ArrayList<>();
+        for (int i = 0; i < selectedColors.length(); i++) {
+            char c = selectedColors.charAt(i);
+            allowedColors.add(ColoredManaSymbol.lookup(c));
+        }
+        List<Card> cardPool = Sets.generateRandomCardPool(45, allowedColors);
+        return ComputerPlayer.buildDeck(cardPool, allowedColors);
+    }
+
+    private void report(Map<GameResult, Integer> resultCount, List<GameThroughputWatcher.Statistics> statistics, long nanos) {
+        double seconds = nanos / 1000000000.0;
+        long actions = 0;
+        Map<PhaseStep, Long> stepTime = new EnumMap<>(PhaseStep.class);
+        for (GameThroughputWatcher.Statistics gameStatistics : statistics) {
+            actions += gameStatistics.getActions();
+            gameStatistics.getStepTime().forEach((step, time) -> stepTime.merge(step, time, Long::sum));
+        }
+        logger.info(String.format("Played %d games in %.1f s: %.1f games/hour, %.2f actions/s",
+                games, seconds, games * 3600 / seconds, actions / seconds));
+        for (GameResult result : GameResult.values()) {
+            int count = resultCount.getOrDefault(result, 0);
+            logger.info(String.format("  %-10s %5d (%.1f%%)", result, count, count * 100.0 / games));
+        }
+        logger.info("Average time per game and step:");
+        stepTime.forEach((step, time) -> logger.info(String.format("  %-20s %8d ms", step, time / games / 1000000)));
+    }
+
+    public static void main(String[] args) throws Exception {
+        init();
+        new AiGamesThroughputTest().playGames();
+    }
+}
@@ -0,0 +1,79 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import mage.cards.ExpansionSet;
+import mage.cards.Sets;
+import mage.constants.RangeOfInfluence;
+import mage.game.draft.BoosterDraft;
+import mage.game.draft.Draft;
+import mage.game.draft.DraftOptions;
+import mage.game.draft.DraftPlayer;
+import mage.player.ai.ComputerPlayer;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.serverside.base.MageTestBase;
+
+/**
+ * Runs full booster drafts with 8 computer players and reports the time per
+ * draft and per pick round.
+ *
+ * Configured with system properties (defaults in brackets): drafts [20] and
+ * set [M13].
+ */
+public class DraftBotsPerformanceTest extends MageTestBase {
+
+    private static final int PLAYERS = 8;
+    private static final int BOOSTERS = 3;
+
+    private final int drafts = Integer.getInteger("drafts", 20);
+    private final String setCode = System.getProperty("set", "M13");
+
+    @Test
+    @Ignore
+    public void draft() throws Exception {
+        Logger.getRootLogger().setLevel(Level.INFO);
+        ExpansionSet set = Sets.findSet(setCode);
+        List<ExpansionSet> sets = new ArrayList<>();
+        for (int i = 0; i < BOOSTERS; i++) {
+            sets.add(set);
+        }
+
+        // first draft warms up the ratings and the card classes
+        runDraft(sets);
+        long t1 = System.nanoTime();
+        int picks = 0;
+        for (int i = 0; i < drafts; i++) {
+            picks += runDraft(sets);
+        }
+        long t2 = System.nanoTime();
+
+        double millis = (t2 - t1) / 1000000.0;
+        int rounds = picks / PLAYERS;
+        logger.info(String.format("%d drafts with %d computer players in %.0f ms: %.1f ms/draft, %.3f ms/pick round",
+                drafts, PLAYERS, millis, millis / drafts, millis / rounds));
+    }
+
+    private int runDraft(List<ExpansionSet> sets) {
+        DraftOptions options = new DraftOptions();
+        options.setNumberBoosters(BOOSTERS);
+        options.setTiming(DraftOptions.TimingOption.NONE);
+        Draft draft = new BoosterDraft(options, sets);
+        for (int i = 0; i < PLAYERS; i++) {
+            draft.addPlayer(new ComputerPlayer("Computer" + i, RangeOfInfluence.ALL));
+        }
+        draft.start();
+        int picks = 0;
+        for (DraftPlayer player : draft.getPlayers()) {
+            picks += player.getDeck().getSideboard().size();
+        }
+        return picks;
+    }
+
+    public static void main(String[] args) throws Exception {
+        init();
+        new DraftBotsPerformanceTest().draft();
+    }
+}
@@ -0,0 +1,90 @@
+package org.mage.test.serverside.performance;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import mage.constants.PhaseStep;
+import mage.constants.WatcherScope;
+import mage.game.Game;
+import mage.game.events.GameEvent;
+import mage.watchers.Watcher;
+
+/**
+ * Records the player actions and the time spent in each step of a game. The
+ * statistics object is shared by all copies of the watcher, events of AI
+ * simulation games are ignored.
+ */
+public class GameThroughputWatcher extends Watcher {
+
+    private final Statistics statistics;
+
+    public GameThroughputWatcher(Statistics statistics) {
+        super(GameThroughputWatcher.class.getSimpleName(), WatcherScope.GAME);
+        this.statistics = statistics;
+    }
+
+    public GameThroughputWatcher(final GameThroughputWatcher watcher) {
+        super(watcher);
+        this.statistics = watcher.statistics;
+    }
+
+    @Override
+    public void watch(GameEvent event, Game game) {
+        if (game.isSimulation()) {
+            return;
+        }
+        switch (event.getType()) {
+            case PLAY_LAND:
+            case CAST_SPELL:
+            case ACTIVATE_ABILITY:
+            case DECLARE_ATTACKER:
+            case DECLARE_BLOCKER:
+                statistics.actions.incrementAndGet();
+                break;
+            default:
+                if (event.getType().name().endsWith("_STEP_PRE") && game.getStep() != null) {
+                    statistics.stepStarted(game.getStep().getType());
+                }
+        }
+    }
+
+    @Override
+    public GameThroughputWatcher copy() {
+        return new GameThroughputWatcher(this);
+    }
+
+    public static class Statistics implements Serializable {
+
+        private final AtomicLong actions = new AtomicLong();
+        private final Map<PhaseStep, Long> stepTime = new EnumMap<>(PhaseStep.class);
+        private PhaseStep currentStep;
+        private long currentStepStart;
+
+        synchronized void stepStarted(PhaseStep step) {
+            long now = System.nanoTime();
+            stepFinished(now);
+            currentStep = step;
+            currentStepStart = now;
+        }
+
+        public synchronized void gameFinished() {
+            stepFinished(System.nanoTime());
+            currentStep = null;
+        }
+
+        private void stepFinished(long now) {
+            if (currentStep != null) {
+                stepTime.merge(currentStep, now - currentStepStart, Long::sum);
+            }
+        }
+
+        public long getActions() {
+            return actions.get();
+        }
+
+        public synchronized Map<PhaseStep, Long> getStepTime() {
+            return new EnumMap<>(stepTime);
+        }
+    }
+}
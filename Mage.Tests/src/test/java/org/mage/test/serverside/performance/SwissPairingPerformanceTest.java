@@ -0,0 +1,68 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import mage.game.tournament.Round;
+import mage.game.tournament.TournamentPairing;
+import mage.game.tournament.TournamentPlayer;
+import mage.game.tournament.pairing.RoundPairings;
+import mage.game.tournament.pairing.SwissPairingHistory;
+import mage.game.tournament.pairing.SwissPairingMinimalWeightMatching;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.stub.PlayerStub;
+import org.mage.test.stub.TournamentStub;
+
+/**
+ * Pairs all rounds of a large swiss tournament and reports the time per
+ * round and the number of rematches.
+ *
+ * Configured with system properties (defaults in brackets): players [500] and
+ * rounds [10].
+ */
+public class SwissPairingPerformanceTest {
+
+    private final int playersCount = Integer.getInteger("players", 500);
+    private final int roundsCount = Integer.getInteger("rounds", 10);
+
+    @Test
+    @Ignore
+    public void pairLargeTournament() {
+        Random rnd = new Random();
+        List<TournamentPlayer> players = new ArrayList<>();
+        for (int i = 0; i < playersCount; i++) {
+            players.add(new TournamentPlayer(new PlayerStub(), null));
+        }
+
+        SwissPairingHistory history = new SwissPairingHistory();
+        List<Round> rounds = new ArrayList<>();
+        int rematches = 0;
+        long total = 0;
+        for (int i = 0; i < roundsCount; i++) {
+            long t1 = System.nanoTime();
+            history.update(rounds);
+            RoundPairings roundPairings = new SwissPairingMinimalWeightMatching(players, history, i + 1 == roundsCount).getRoundPairings();
+            long t2 = System.nanoTime();
+            total += t2 - t1;
+            System.out.println(String.format("Round %d: %.1f ms", i + 1, (t2 - t1) / 1000000.0));
+
+            Round round = new Round(i + 1, new TournamentStub());
+            rounds.add(round);
+            for (TournamentPairing pairing : roundPairings.getPairings()) {
+                if (history.getDuels(pairing.getPlayer1(), pairing.getPlayer2()) > 0) {
+                    rematches++;
+                }
+                round.addPairing(pairing);
+                TournamentPlayer winner = rnd.nextBoolean() ? pairing.getPlayer1() : pairing.getPlayer2();
+                winner.setPoints(winner.getPoints() + 3);
+            }
+            for (TournamentPlayer playerBye : roundPairings.getPlayerByes()) {
+                round.getPlayerByes().add(playerBye);
+                playerBye.setPoints(playerBye.getPoints() + 3);
+            }
+        }
+        System.out.println(String.format("%d players, %d rounds: %.1f ms/round, %d rematches",
+                playersCount, roundsCount, total / 1000000.0 / roundsCount, rematches));
+    }
+}
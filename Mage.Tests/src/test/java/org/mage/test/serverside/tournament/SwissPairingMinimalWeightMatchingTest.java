@@ -289,6 +289,13 @@ public class SwissPairingMinimalWeightMatchingTest {
         }
     }
 
+    @Test
+    public void SimulateLargeTournaments() {
+        SimulateTournament(64, 6);
+        SimulateTournament(65, 6);
+        SimulateTournament(255, 8);
+    }
+
     private void SimulateTournament(int playersCount, int roundsCount) {
         Random rnd = new Random();
 
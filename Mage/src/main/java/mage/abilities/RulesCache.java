@@ -0,0 +1,55 @@
+package mage.abilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rules text of the abilities of an object, shared by all copies of the
+ * object. The text is only generated again if the name or the abilities (their
+ * ids and visibility) have changed.
+ *
+ * Only used for the printed abilities of cards: the text of an ability is
+ * expected not to change as long as its id doesn't, and permanents, which
+ * gain abilities with new ids on every applyEffects, don't use it.
+ */
+public class RulesCache {
+
+    private volatile Entry entry;
+
+    /**
+     * @param abilities current abilities of the object
+     * @param source name of the object
+     * @return rules text, the list can be changed by the caller
+     */
+    public List<String> getRules(Abilities<Ability> abilities, String source) {
+        long stamp = getStamp(abilities, source);
+        Entry current = entry;
+        if (current == null || current.stamp != stamp) {
+            current = new Entry(stamp, abilities.getRules(source));
+            entry = current;
+        }
+        return new ArrayList<>(current.rules);
+    }
+
+    private static long getStamp(Abilities<Ability> abilities, String source) {
+        long stamp = source == null ? 0 : source.hashCode();
+        for (Ability ability : abilities) {
+            UUID id = ability.getId();
+            stamp = stamp * 31 + (id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+            stamp = stamp * 31 + (ability.getRuleVisible() ? 1 : 0);
+        }
+        return stamp * 31 + abilities.size();
+    }
+
+    private static final class Entry {
+
+        private final long stamp;
+        private final List<String> rules;
+
+        Entry(long stamp, List<String> rules) {
+            this.stamp = stamp;
+            this.rules = rules;
+        }
+    }
+}
@@ -77,6 +77,8 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
     protected boolean splitCard;
     protected boolean morphCard;
     protected boolean allCreatureTypes;
+    // shared with the copies of the card
+    private transient RulesCache rulesCache;
 
     public CardImpl(UUID ownerId, CardSetInfo setInfo, CardType[] cardTypes, String costs) {
         this(ownerId, setInfo, cardTypes, costs, SpellAbilityType.BASE);
@@ -153,6 +155,7 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
         flipCardName = card.flipCardName;
         splitCard = card.splitCard;
         usesVariousArt = card.usesVariousArt;
+        rulesCache = card.getRulesCache();
     }
 
     @Override
@@ -222,13 +225,20 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
     @Override
     public List<String> getRules() {
         try {
-            return abilities.getRules(this.getName());
+            return getRulesCache().getRules(abilities, this.getName());
         } catch (Exception e) {
             logger.info("Exception in rules generation for card: " + this.getName(), e);
         }
         return rulesError;
     }
 
+    private RulesCache getRulesCache() {
+        if (rulesCache == null) {
+            rulesCache = new RulesCache();
+        }
+        return rulesCache;
+    }
+
     @Override
     public List<String> getRules(Game game) {
         try {
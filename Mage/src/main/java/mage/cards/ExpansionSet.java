@@ -119,7 +119,8 @@ public abstract class ExpansionSet implements Serializable {
 
     protected int maxCardNumberInBooster; // used to omit cards with collector numbers beyond the regular cards in a set for boosters
 
-    protected final EnumMap<Rarity, List<CardInfo>> savedCards;
+    // cards of the boosters by rarity, shared by all boosters of the set that are created while the server runs
+    protected final Map<Rarity, List<CardInfo>> savedCards;
 
     public ExpansionSet(String name, String code, Date releaseDate, SetType setType) {
         this.name = name;
@@ -127,7 +128,7 @@ public abstract class ExpansionSet implements Serializable {
         this.releaseDate = releaseDate;
         this.setType = setType;
         this.maxCardNumberInBooster = Integer.MAX_VALUE;
-        savedCards = new EnumMap<>(Rarity.class);
+        savedCards = Collections.synchronizedMap(new EnumMap<>(Rarity.class));
     }
 
     public String getName() {
@@ -196,6 +196,38 @@ public class CardCriteria {
         return this;
     }
 
+    public boolean isBlack() {
+        return black;
+    }
+
+    public boolean isBlue() {
+        return blue;
+    }
+
+    public boolean isGreen() {
+        return green;
+    }
+
+    public boolean isRed() {
+        return red;
+    }
+
+    public boolean isWhite() {
+        return white;
+    }
+
+    public boolean isColorless() {
+        return colorless;
+    }
+
+    public List<CardType> getTypes() {
+        return types;
+    }
+
+    public List<String> getSetCodes() {
+        return setCodes;
+    }
+
     public void buildQuery(QueryBuilder qb) throws SQLException {
         Where where = qb.where();
         where.eq("nightCard", false);
@@ -61,6 +61,7 @@ public enum CardRepository {
     private static final long CARD_CONTENT_VERSION = 90;
     private Dao<CardInfo, Object> cardDao;
     private Set<String> classNames;
+    private volatile CardSearchIndex searchIndex;
 
     CardRepository() {
         File file = new File("db");
@@ -83,6 +84,7 @@ public enum CardRepository {
     }
 
     public void addCards(final List<CardInfo> cards) {
+        searchIndex = null;
         try {
             cardDao.callBatchTasks(() -> {
                 try {
@@ -413,6 +415,19 @@ public enum CardRepository {
         return Collections.emptyList();
     }
 
+    /**
+     * @return index of all cards found by an empty {@link CardCriteria}, it
+     * is built on first use and again after cards were added
+     */
+    public CardSearchIndex getSearchIndex() {
+        CardSearchIndex index = searchIndex;
+        if (index == null) {
+            index = new CardSearchIndex(findCards(new CardCriteria()));
+            searchIndex = index;
+        }
+        return index;
+    }
+
     public long getContentVersionFromDB() {
         try {
             ConnectionSource connectionSource = new JdbcConnectionSource(JDBC_URL);
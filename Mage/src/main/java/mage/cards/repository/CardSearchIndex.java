@@ -0,0 +1,255 @@
+package mage.cards.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import mage.constants.CardType;
+import mage.constants.SubType;
+import mage.constants.SuperType;
+
+/**
+ * In-memory index of cards for the searches of the deck editor, so a search
+ * doesn't need a database query and only the found cards have to be
+ * converted.
+ *
+ * Colors, types and sets are kept as bit sets of the card positions, names,
+ * sub and super types and the words of the rules as sorted lists of card
+ * positions. A search finds the same cards as the query of the
+ * {@link CardCriteria} (only colors, types and sets are used) together with
+ * {@link mage.filter.predicate.other.CardTextPredicate}.
+ */
+public class CardSearchIndex {
+
+    // all selectable types, no type filter is needed then
+    private static final int ALL_TYPES_COUNT = 7;
+    private static final int MAX_CACHED_TOKENS = 64;
+
+    private final CardInfo[] cards;
+    private final BitSet black = new BitSet();
+    private final BitSet blue = new BitSet();
+    private final BitSet green = new BitSet();
+    private final BitSet red = new BitSet();
+    private final BitSet white = new BitSet();
+    private final BitSet colorless = new BitSet();
+    private final Map<CardType, BitSet> types = new EnumMap<>(CardType.class);
+    private final Map<String, BitSet> sets = new HashMap<>();
+    // lower case names -> cards
+    private final Map<String, Postings> names = new HashMap<>();
+    // lower case sub and super types -> cards
+    private final Map<String, Postings> typeWords = new HashMap<>();
+    // lower case words of the rules, separated by spaces -> cards
+    private final Map<String, Postings> ruleWords = new HashMap<>();
+    // cards with rules containing a search token, the tokens before the
+    // currently typed one are mostly the same for the next search
+    private final Map<String, BitSet> ruleTokens = new LinkedHashMap<String, BitSet>(MAX_CACHED_TOKENS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BitSet> eldest) {
+            return size() > MAX_CACHED_TOKENS;
+        }
+    };
+
+    public CardSearchIndex(List<CardInfo> cards) {
+        this.cards = cards.toArray(new CardInfo[cards.size()]);
+        for (int i = 0; i < this.cards.length; i++) {
+            CardInfo card = this.cards[i];
+            addColors(card, i);
+            for (CardType type : card.getTypes()) {
+                types.computeIfAbsent(type, key -> new BitSet()).set(i);
+            }
+            sets.computeIfAbsent(card.getSetCode(), key -> new BitSet()).set(i);
+            add(names, card.getName().toLowerCase(), i);
+            for (SubType subType : card.getSubTypes()) {
+                add(typeWords, subType.toString().toLowerCase(), i);
+            }
+            for (SuperType superType : card.getSupertypes()) {
+                add(typeWords, superType.toString().toLowerCase(), i);
+            }
+            for (String rule : card.getRules()) {
+                for (String word : rule.toLowerCase().split(" ")) {
+                    if (!word.isEmpty()) {
+                        add(ruleWords, word, i);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addColors(CardInfo card, int index) {
+        if (card.black) {
+            black.set(index);
+        }
+        if (card.blue) {
+            blue.set(index);
+        }
+        if (card.green) {
+            green.set(index);
+        }
+        if (card.red) {
+            red.set(index);
+        }
+        if (card.white) {
+            white.set(index);
+        }
+        if (!card.black && !card.blue && !card.green && !card.red && !card.white) {
+            colorless.set(index);
+        }
+    }
+
+    private static void add(Map<String, Postings> words, String word, int index) {
+        words.computeIfAbsent(word, key -> new Postings()).add(index);
+    }
+
+    public int size() {
+        return cards.length;
+    }
+
+    /**
+     * @param criteria only the colors, types and sets are used
+     * @param text searched text, see
+     * {@link mage.filter.predicate.other.CardTextPredicate}
+     * @param inNames
+     * @param inTypes
+     * @param inRules
+     * @return found cards in the order they were added to the index
+     */
+    public List<CardInfo> find(CardCriteria criteria, String text, boolean inNames, boolean inTypes, boolean inRules) {
+        BitSet found = filter(criteria);
+        if (!text.isEmpty()) {
+            found.and(findText(text, inNames, inTypes, inRules));
+        }
+        List<CardInfo> result = new ArrayList<>(found.cardinality());
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            result.add(cards[i]);
+        }
+        return result;
+    }
+
+    private BitSet filter(CardCriteria criteria) {
+        BitSet found = new BitSet(cards.length);
+        found.set(0, cards.length);
+
+        if (!criteria.isBlack() || !criteria.isBlue() || !criteria.isGreen()
+                || !criteria.isRed() || !criteria.isWhite() || !criteria.isColorless()) {
+            BitSet colors = new BitSet(cards.length);
+            boolean anyColor = false;
+            anyColor |= or(colors, criteria.isBlack(), black);
+            anyColor |= or(colors, criteria.isBlue(), blue);
+            anyColor |= or(colors, criteria.isGreen(), green);
+            anyColor |= or(colors, criteria.isRed(), red);
+            anyColor |= or(colors, criteria.isWhite(), white);
+            anyColor |= or(colors, criteria.isColorless(), colorless);
+            if (anyColor) {
+                found.and(colors);
+            }
+        }
+
+        List<CardType> selectedTypes = criteria.getTypes();
+        if (selectedTypes.size() != ALL_TYPES_COUNT && !selectedTypes.isEmpty()) {
+            BitSet typed = new BitSet(cards.length);
+            for (CardType type : selectedTypes) {
+                or(typed, true, types.get(type));
+            }
+            found.and(typed);
+        }
+
+        if (!criteria.getSetCodes().isEmpty()) {
+            BitSet inSets = new BitSet(cards.length);
+            for (String setCode : criteria.getSetCodes()) {
+                or(inSets, true, sets.get(setCode));
+            }
+            found.and(inSets);
+        }
+        return found;
+    }
+
+    private static boolean or(BitSet target, boolean selected, BitSet cards) {
+        if (selected && cards != null) {
+            target.or(cards);
+        }
+        return selected;
+    }
+
+    private BitSet findText(String text, boolean inNames, boolean inTypes, boolean inRules) {
+        BitSet found = new BitSet(cards.length);
+        // the whole text in the name
+        if (inNames) {
+            String name = text.toLowerCase();
+            for (Map.Entry<String, Postings> entry : names.entrySet()) {
+                if (entry.getKey().contains(name)) {
+                    entry.getValue().addTo(found);
+                }
+            }
+        }
+
+        // or every word in the rules or types
+        BitSet allTokens = new BitSet(cards.length);
+        allTokens.set(0, cards.length);
+        for (String token : text.toLowerCase().split(" ")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            BitSet tokenFound = new BitSet(cards.length);
+            if (inRules) {
+                tokenFound.or(findRuleToken(token));
+            }
+            if (inTypes) {
+                Postings typed = typeWords.get(token);
+                if (typed != null) {
+                    typed.addTo(tokenFound);
+                }
+            }
+            allTokens.and(tokenFound);
+        }
+        found.or(allTokens);
+        return found;
+    }
+
+    private BitSet findRuleToken(String token) {
+        synchronized (ruleTokens) {
+            BitSet found = ruleTokens.get(token);
+            if (found != null) {
+                return found;
+            }
+        }
+        BitSet found = new BitSet(cards.length);
+        for (Map.Entry<String, Postings> entry : ruleWords.entrySet()) {
+            if (entry.getKey().contains(token)) {
+                entry.getValue().addTo(found);
+            }
+        }
+        synchronized (ruleTokens) {
+            ruleTokens.put(token, found);
+        }
+        return found;
+    }
+
+    /**
+     * Positions of the cards with a word, in ascending order
+     */
+    private static final class Postings {
+
+        private int[] indexes = new int[2];
+        private int size;
+
+        void add(int index) {
+            if (size > 0 && indexes[size - 1] == index) {
+                return;
+            }
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+            indexes[size++] = index;
+        }
+
+        void addTo(BitSet cards) {
+            for (int i = 0; i < size; i++) {
+                cards.set(indexes[i]);
+            }
+        }
+    }
+}
@@ -36,6 +36,7 @@ import mage.cards.Card;
 import mage.filter.predicate.ObjectPlayer;
 import mage.filter.predicate.ObjectPlayerPredicate;
 import mage.filter.predicate.ObjectSourcePlayer;
+import mage.filter.predicate.Predicate;
 import mage.filter.predicate.Predicates;
 import mage.game.Game;
 
@@ -47,6 +48,7 @@ public class FilterCard extends FilterObject<Card> {
 
     private static final long serialVersionUID = 1L;
     protected List<ObjectPlayerPredicate<ObjectPlayer<Card>>> extraPredicates = new ArrayList<>();
+    private transient Predicate<ObjectPlayer<Card>> compiledExtraPredicates;
 
     public FilterCard() {
         super("card");
@@ -83,18 +85,19 @@ public class FilterCard extends FilterObject<Card> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectPlayer(card, playerId), game);
+        return getCompiledExtraPredicates().apply(new ObjectPlayer(card, playerId), game);
     }
 
     public boolean match(Card card, UUID sourceId, UUID playerId, Game game) {
         if (!this.match(card, game)) {
             return false;
         }
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(card, sourceId, playerId), game);
+        return getCompiledExtraPredicates().apply(new ObjectSourcePlayer(card, sourceId, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
         extraPredicates.add(predicate);
+        compiledExtraPredicates = null;
     }
 
     public Set<Card> filter(Set<Card> cards, Game game) {
@@ -106,6 +109,15 @@ public class FilterCard extends FilterObject<Card> {
         return !predicates.isEmpty();
     }
 
+    private Predicate<ObjectPlayer<Card>> getCompiledExtraPredicates() {
+        Predicate<ObjectPlayer<Card>> compiled = compiledExtraPredicates;
+        if (compiled == null) {
+            compiled = Predicates.compile(extraPredicates);
+            compiledExtraPredicates = compiled;
+        }
+        return compiled;
+    }
+
     @Override
     public FilterCard copy() {
         return new FilterCard(this);
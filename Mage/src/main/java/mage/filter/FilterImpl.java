@@ -43,6 +43,8 @@ public abstract class FilterImpl<E> implements Filter<E> {
 
     protected List<Predicate<Object>> predicates = new ArrayList<>();
     protected String message;
+    // predicates ordered for evaluation, rebuilt lazily after a predicate was added
+    private transient Predicate<Object> compiledPredicates;
 
     @Override
     public abstract FilterImpl<E> copy();
@@ -59,7 +61,7 @@ public abstract class FilterImpl<E> implements Filter<E> {
     @Override
     public boolean match(E e, Game game) {
         if (checkObjectClass(e)) {
-            return Predicates.and(predicates).apply(e, game);
+            return getCompiledPredicates().apply(e, game);
         }
         return false;
     }
@@ -67,9 +69,19 @@ public abstract class FilterImpl<E> implements Filter<E> {
     @Override
     public final Filter add(Predicate predicate) {
         predicates.add(predicate);
+        compiledPredicates = null;
         return this;
     }
 
+    private Predicate<Object> getCompiledPredicates() {
+        Predicate<Object> compiled = compiledPredicates;
+        if (compiled == null) {
+            compiled = Predicates.compile(predicates);
+            compiledPredicates = compiled;
+        }
+        return compiled;
+    }
+
     @Override
     public String getMessage() {
         return message;
@@ -35,6 +35,7 @@ import mage.constants.SubType;
 import mage.filter.predicate.ObjectPlayer;
 import mage.filter.predicate.ObjectPlayerPredicate;
 import mage.filter.predicate.ObjectSourcePlayer;
+import mage.filter.predicate.Predicate;
 import mage.filter.predicate.Predicates;
 import mage.filter.predicate.mageobject.SubtypePredicate;
 import mage.game.Game;
@@ -47,6 +48,7 @@ import mage.game.permanent.Permanent;
 public class FilterPermanent extends FilterObject<Permanent> implements FilterInPlay<Permanent> {
 
     protected List<ObjectPlayerPredicate<ObjectPlayer<Permanent>>> extraPredicates = new ArrayList<>();
+    private transient Predicate<ObjectPlayer<Permanent>> compiledExtraPredicates;
 
     public FilterPermanent() {
         super("permanent");
@@ -77,11 +79,21 @@ public class FilterPermanent extends FilterObject<Permanent> implements FilterIn
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(permanent, sourceId, playerId), game);
+        return getCompiledExtraPredicates().apply(new ObjectSourcePlayer(permanent, sourceId, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
         extraPredicates.add(predicate);
+        compiledExtraPredicates = null;
+    }
+
+    private Predicate<ObjectPlayer<Permanent>> getCompiledExtraPredicates() {
+        Predicate<ObjectPlayer<Permanent>> compiled = compiledExtraPredicates;
+        if (compiled == null) {
+            compiled = Predicates.compile(extraPredicates);
+            compiledExtraPredicates = compiled;
+        }
+        return compiled;
     }
 
     @Override
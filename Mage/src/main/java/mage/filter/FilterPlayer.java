@@ -33,6 +33,7 @@ import java.util.UUID;
 import mage.filter.predicate.ObjectPlayer;
 import mage.filter.predicate.ObjectPlayerPredicate;
 import mage.filter.predicate.ObjectSourcePlayer;
+import mage.filter.predicate.Predicate;
 import mage.filter.predicate.Predicates;
 import mage.game.Game;
 import mage.players.Player;
@@ -45,6 +46,7 @@ import mage.players.Player;
 public class FilterPlayer extends FilterImpl<Player> {
 
     protected List<ObjectPlayerPredicate<ObjectPlayer<Player>>> extraPredicates = new ArrayList<>();
+    private transient Predicate<ObjectPlayer<Player>> compiledExtraPredicates;
 
     public FilterPlayer() {
         this("player");
@@ -61,6 +63,7 @@ public class FilterPlayer extends FilterImpl<Player> {
 
     public void add(ObjectPlayerPredicate predicate) {
         extraPredicates.add(predicate);
+        compiledExtraPredicates = null;
     }
 
     @Override
@@ -73,7 +76,16 @@ public class FilterPlayer extends FilterImpl<Player> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(player, sourceId, playerId), game);
+        return getCompiledExtraPredicates().apply(new ObjectSourcePlayer(player, sourceId, playerId), game);
+    }
+
+    private Predicate<ObjectPlayer<Player>> getCompiledExtraPredicates() {
+        Predicate<ObjectPlayer<Player>> compiled = compiledExtraPredicates;
+        if (compiled == null) {
+            compiled = Predicates.compile(extraPredicates);
+            compiledExtraPredicates = compiled;
+        }
+        return compiled;
     }
 
     @Override
@@ -33,6 +33,7 @@ import java.util.UUID;
 import mage.filter.predicate.ObjectPlayer;
 import mage.filter.predicate.ObjectPlayerPredicate;
 import mage.filter.predicate.ObjectSourcePlayer;
+import mage.filter.predicate.Predicate;
 import mage.filter.predicate.Predicates;
 import mage.game.Game;
 import mage.game.permanent.Permanent;
@@ -45,6 +46,7 @@ import mage.game.stack.StackObject;
 public class FilterStackObject extends FilterObject<StackObject> {
 
     protected List<ObjectPlayerPredicate<ObjectPlayer<Permanent>>> extraPredicates = new ArrayList<>();
+    private transient Predicate<ObjectPlayer<Permanent>> compiledExtraPredicates;
 
     public FilterStackObject() {
         super("spell or ability");
@@ -64,11 +66,21 @@ public class FilterStackObject extends FilterObject<StackObject> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(stackObject, sourceId, playerId), game);
+        return getCompiledExtraPredicates().apply(new ObjectSourcePlayer(stackObject, sourceId, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
         extraPredicates.add(predicate);
+        compiledExtraPredicates = null;
+    }
+
+    private Predicate<ObjectPlayer<Permanent>> getCompiledExtraPredicates() {
+        Predicate<ObjectPlayer<Permanent>> compiled = compiledExtraPredicates;
+        if (compiled == null) {
+            compiled = Predicates.compile(extraPredicates);
+            compiledExtraPredicates = compiled;
+        }
+        return compiled;
     }
 
     @Override
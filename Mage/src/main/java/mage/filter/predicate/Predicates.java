@@ -27,11 +27,22 @@
  */
 package mage.filter.predicate;
 
+import mage.filter.predicate.mageobject.CardIdPredicate;
+import mage.filter.predicate.mageobject.CardTypePredicate;
+import mage.filter.predicate.mageobject.ColorPredicate;
+import mage.filter.predicate.mageobject.ColorlessPredicate;
+import mage.filter.predicate.mageobject.SubtypePredicate;
+import mage.filter.predicate.mageobject.SupertypePredicate;
+import mage.filter.predicate.other.OwnerPredicate;
+import mage.filter.predicate.permanent.AnotherPredicate;
+import mage.filter.predicate.permanent.ControllerPredicate;
 import mage.game.Game;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Static utility methods pertaining to {@code Predicate} instances.
@@ -42,6 +53,27 @@ import java.util.List;
  */
 public final class Predicates {
 
+    /**
+     * Relative evaluation cost of predicates that only read fields of the
+     * checked object. Predicates not listed here are treated as expensive.
+     */
+    private static final int COST_TRIVIAL = 0;
+    private static final int COST_CHEAP = 1;
+    private static final int COST_DEFAULT = 2;
+    private static final Map<Class<?>, Integer> costs = new HashMap<>();
+
+    static {
+        costs.put(CardIdPredicate.class, COST_TRIVIAL);
+        costs.put(CardTypePredicate.class, COST_TRIVIAL);
+        costs.put(SupertypePredicate.class, COST_TRIVIAL);
+        costs.put(AnotherPredicate.class, COST_TRIVIAL);
+        costs.put(SubtypePredicate.class, COST_CHEAP);
+        costs.put(ColorPredicate.class, COST_CHEAP);
+        costs.put(ColorlessPredicate.class, COST_CHEAP);
+        costs.put(ControllerPredicate.class, COST_CHEAP);
+        costs.put(OwnerPredicate.class, COST_CHEAP);
+    }
+
     private Predicates() {
     }
 
@@ -81,6 +113,29 @@ public final class Predicates {
         return new AndPredicate<T>(defensiveCopy(components));
     }
 
+    /**
+     * Returns a predicate that evaluates to {@code true} if each of its components evaluates to {@code true}, like
+     * {@link #and(Iterable)}. The components are reordered so that cheap checks (card type, subtype, controller, ...)
+     * run first and short-circuit before the expensive ones; the relative order of all other components is kept.
+     * Components must therefore not depend on being evaluated after a cheap predicate.
+     *
+     * @param <T>
+     * @param components
+     * @return
+     */
+    public static <T> Predicate<T> compile(Iterable<? extends Predicate<? super T>> components) {
+        List<? extends Predicate<? super T>> ordered = defensiveCopy(components);
+        ordered.sort((p1, p2) -> Integer.compare(cost(p1), cost(p2)));
+        return new AndPredicate<T>(ordered);
+    }
+
+    private static int cost(Predicate<?> predicate) {
+        if (predicate instanceof NotPredicate) {
+            return cost(((NotPredicate<?>) predicate).predicate);
+        }
+        return costs.getOrDefault(predicate.getClass(), COST_DEFAULT);
+    }
+
     /**
      * Returns a predicate that evaluates to {@code true} if both of its components evaluate to {@code true}. The
      * components are evaluated in order, and evaluation will be "short-circuited" as soon as a false predicate is
@@ -66,6 +66,7 @@ import mage.players.PlayerList;
 import mage.players.Players;
 import mage.util.MessageToClient;
 import mage.util.functions.ApplyToPermanent;
+import mage.util.metrics.EngineMetrics;
 
 public interface Game extends MageItem, Serializable {
 
@@ -198,6 +199,11 @@ public interface Game extends MageItem, Serializable {
 
     boolean isSimulation();
 
+    /**
+     * @return the time spent in the engine for this game and its copies
+     */
+    EngineMetrics getMetrics();
+
     void setSimulation(boolean simulation);
 
     MageObject getLastKnownInformation(UUID objectId, Zone zone);
@@ -91,6 +91,8 @@ import mage.target.TargetPlayer;
 import mage.util.GameLog;
 import mage.util.MessageToClient;
 import mage.util.RandomUtil;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
 import mage.util.functions.ApplyToPermanent;
 import mage.watchers.Watchers;
 import mage.watchers.common.*;
@@ -141,8 +143,8 @@ public abstract class GameImpl implements Game, Serializable {
     protected GameOptions gameOptions;
     protected String startMessage;
 
-    public static volatile int copyCount = 0;
-    public static volatile long copyTime = 0;
+    // time spent in the engine, shared with the copies of the game
+    private transient EngineMetrics metrics;
 
     // private final transient LinkedList<MageAction> actions;
     private Player scorePlayer;
@@ -175,10 +177,7 @@ public abstract class GameImpl implements Game, Serializable {
     }
 
     public GameImpl(final GameImpl game) {
-        long t1 = 0;
-        if (logger.isDebugEnabled()) {
-            t1 = System.currentTimeMillis();
-        }
+        long start = EngineMetrics.start();
         this.id = game.id;
         this.ready = game.ready;
         this.startingPlayerId = game.startingPlayerId;
@@ -194,10 +193,8 @@ public abstract class GameImpl implements Game, Serializable {
         this.lkiExtended.putAll(game.lkiExtended);
         this.shortLivingLKI.putAll(game.shortLivingLKI);
         this.permanentsEntering.putAll(game.permanentsEntering);
-        if (logger.isDebugEnabled()) {
-            copyCount++;
-            copyTime += (System.currentTimeMillis() - t1);
-        }
+        this.metrics = game.getMetrics();
+        this.metrics.stop(EngineMetric.GAME_COPY, start);
         this.stateCheckRequired = game.stateCheckRequired;
         this.scorePlayer = game.scorePlayer;
         this.scopeRelevant = game.scopeRelevant;
@@ -207,6 +204,14 @@ public abstract class GameImpl implements Game, Serializable {
         this.enterWithCounters.putAll(game.enterWithCounters);
     }
 
+    @Override
+    public EngineMetrics getMetrics() {
+        if (metrics == null) {
+            metrics = EngineMetrics.createGameMetrics();
+        }
+        return metrics;
+    }
+
     @Override
     public boolean isSimulation() {
         return simulation;
@@ -1407,8 +1412,10 @@ public abstract class GameImpl implements Game, Serializable {
 
     @Override
     public synchronized void applyEffects() {
+        long start = EngineMetrics.start();
         resetShortLivingLKI();
         state.applyEffects(this);
+        getMetrics().stop(EngineMetric.APPLY_EFFECTS, start);
     }
 
     @Override
@@ -1595,6 +1602,7 @@ public abstract class GameImpl implements Game, Serializable {
      */
     @Override
     public boolean checkStateAndTriggered() {
+        long start = EngineMetrics.start();
         boolean somethingHappened = false;
         //20091005 - 115.5
         while (!isPaused() && !gameOver(null)) {
@@ -1609,6 +1617,7 @@ public abstract class GameImpl implements Game, Serializable {
             applyEffects(); // needed e.g if boost effects end and cause creatures to die
             somethingHappened = true;
         }
+        getMetrics().stop(EngineMetric.CHECK_STATE_AND_TRIGGERED, start);
         return somethingHappened;
     }
 
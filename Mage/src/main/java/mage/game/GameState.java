@@ -108,11 +108,15 @@ public class GameState implements Serializable, Copyable<GameState> {
     private List<TriggeredAbility> triggered = new ArrayList<>();
     private Combat combat;
     private Map<String, Object> values = new HashMap<>();
-    private Map<UUID, Zone> zones = new HashMap<>();
+    // per object state is stored by object handle, the handles are shared with the copies of the state
+    // until a copy needs a new handle, see getOrCreateHandle
+    private ObjectHandles handles;
+    private boolean ownHandles;
+    private ObjectHandleMap<Zone> zones = new ObjectHandleMap<>();
     private List<GameEvent> simultaneousEvents = new ArrayList<>();
-    private Map<UUID, CardState> cardState = new HashMap<>();
+    private ObjectHandleMap<CardState> cardState = new ObjectHandleMap<>();
     private Map<UUID, CardAttribute> cardAttribute = new HashMap<>();
-    private Map<UUID, Integer> zoneChangeCounter = new HashMap<>();
+    private ObjectHandleMap<Integer> zoneChangeCounter = new ObjectHandleMap<>();
     private Map<UUID, Card> copiedCards = new HashMap<>();
     private int permanentOrderNumber;
 
@@ -132,9 +136,12 @@ public class GameState implements Serializable, Copyable<GameState> {
         combat = new Combat();
         turnMods = new TurnMods();
         watchers = new Watchers();
+        handles = new ObjectHandles();
+        ownHandles = true;
     }
 
     public GameState(final GameState state) {
+        this.handles = state.handles;
         this.players = state.players.copy();
         this.playerList = state.playerList.copy();
         this.choosingPlayerId = state.choosingPlayerId;
@@ -175,15 +182,13 @@ public class GameState implements Serializable, Copyable<GameState> {
                 this.values.put(entry.getKey(), entry.getValue());
             }
         }
-        this.zones.putAll(state.zones);
+        this.zones = state.zones.copy();
         this.simultaneousEvents.addAll(state.simultaneousEvents);
-        for (Map.Entry<UUID, CardState> entry : state.cardState.entrySet()) {
-            cardState.put(entry.getKey(), entry.getValue().copy());
-        }
+        this.cardState = new ObjectHandleMap<>(state.cardState, CardState::copy);
         for (Map.Entry<UUID, CardAttribute> entry : state.cardAttribute.entrySet()) {
             cardAttribute.put(entry.getKey(), entry.getValue().copy());
         }
-        this.zoneChangeCounter.putAll(state.zoneChangeCounter);
+        this.zoneChangeCounter = state.zoneChangeCounter.copy();
         this.copiedCards.putAll(state.copiedCards);
         this.permanentOrderNumber = state.permanentOrderNumber;
     }
@@ -221,6 +226,8 @@ public class GameState implements Serializable, Copyable<GameState> {
             Player origPlayer = players.get(copyPlayer.getId());
             origPlayer.restore(copyPlayer);
         }
+        this.handles = state.handles;
+        this.ownHandles = false;
         this.zones = state.zones;
         this.simultaneousEvents = state.simultaneousEvents;
         this.cardState = state.cardState;
@@ -645,14 +652,27 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public Zone getZone(UUID id) {
-        if (id != null && zones.containsKey(id)) {
-            return zones.get(id);
+        if (id == null) {
+            return null;
         }
-        return null;
+        return zones.get(handles.get(id));
     }
 
     public void setZone(UUID id, Zone zone) {
-        zones.put(id, zone);
+        zones.put(getOrCreateHandle(id), zone);
+    }
+
+    private int getOrCreateHandle(UUID objectId) {
+        int handle = handles.get(objectId);
+        if (handle == ObjectHandles.NO_HANDLE) {
+            if (!ownHandles) {
+                // the handles are shared with the state this one was copied from
+                handles = new ObjectHandles(handles);
+                ownHandles = true;
+            }
+            handle = handles.getOrCreate(objectId);
+        }
+        return handle;
     }
 
     public void addSimultaneousEvent(GameEvent event, Game game) {
@@ -774,9 +794,10 @@ public class GameState implements Serializable, Copyable<GameState> {
     public void removeCopiedCard(Card card) {
         if (copiedCards.containsKey(card.getId())) {
             copiedCards.remove(card.getId());
-            cardState.remove(card.getId());
-            zones.remove(card.getId());
-            zoneChangeCounter.remove(card.getId());
+            int handle = handles.get(card.getId());
+            cardState.remove(handle);
+            zones.remove(handle);
+            zoneChangeCounter.remove(handle);
         }
         // TODO Watchers?
         // TODO Abilities?
@@ -941,15 +962,17 @@ public class GameState implements Serializable, Copyable<GameState> {
      * @return
      */
     public Abilities<ActivatedAbility> getActivatedOtherAbilities(UUID objectId, Zone zone) {
-        if (cardState.containsKey(objectId)) {
-            return cardState.get(objectId).getAbilities().getActivatedAbilities(zone);
+        CardState state = cardState.get(handles.get(objectId));
+        if (state != null) {
+            return state.getAbilities().getActivatedAbilities(zone);
         }
         return null;
     }
 
     public Abilities<Ability> getAllOtherAbilities(UUID objectId) {
-        if (cardState.containsKey(objectId)) {
-            return cardState.get(objectId).getAbilities();
+        CardState state = cardState.get(handles.get(objectId));
+        if (state != null) {
+            return state.getAbilities();
         }
         return null;
     }
@@ -981,10 +1004,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         }
         newAbility.setSourceId(attachedTo.getId());
         newAbility.setControllerId(attachedTo.getOwnerId());
-        if (!cardState.containsKey(attachedTo.getId())) {
-            cardState.put(attachedTo.getId(), new CardState());
-        }
-        cardState.get(attachedTo.getId()).addAbility(newAbility);
+        getCardState(attachedTo.getId()).addAbility(newAbility);
         addAbility(newAbility, attachedTo.getId(), attachedTo);
     }
 
@@ -1006,9 +1026,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         triggers.removeAllGainedAbilities();
         getContinuousEffects().removeAllTemporaryEffects();
         this.setLegendaryRuleActive(true);
-        for (CardState state : cardState.values()) {
-            state.clearAbilities();
-        }
+        cardState.forEachValue(CardState::clearAbilities);
         cardAttribute.clear();
     }
 
@@ -1071,8 +1089,13 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public CardState getCardState(UUID cardId) {
-        cardState.putIfAbsent(cardId, new CardState());
-        return cardState.get(cardId);
+        int handle = getOrCreateHandle(cardId);
+        CardState state = cardState.get(handle);
+        if (state == null) {
+            state = new CardState();
+            cardState.put(handle, state);
+        }
+        return state;
     }
 
     public CardAttribute getCardAttribute(UUID cardId) {
@@ -1089,24 +1112,27 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public int getZoneChangeCounter(UUID objectId) {
-        if (this.zoneChangeCounter.containsKey(objectId)) {
-            return this.zoneChangeCounter.get(objectId);
+        Integer value = this.zoneChangeCounter.get(handles.get(objectId));
+        if (value != null) {
+            return value;
         }
         return 1;
     }
 
     public void updateZoneChangeCounter(UUID objectId) {
+        int handle = getOrCreateHandle(objectId);
         Integer value = getZoneChangeCounter(objectId);
         value++;
-        this.zoneChangeCounter.put(objectId, value);
+        this.zoneChangeCounter.put(handle, value);
         // card is changing zone so clear state
-        if (cardState.containsKey(objectId)) {
-            this.cardState.get(objectId).clear();
+        CardState state = cardState.get(handle);
+        if (state != null) {
+            state.clear();
         }
     }
 
     public void setZoneChangeCounter(UUID objectId, int value) {
-        this.zoneChangeCounter.put(objectId, value);
+        this.zoneChangeCounter.put(getOrCreateHandle(objectId), value);
     }
 
     public Card getCopiedCard(UUID cardId) {
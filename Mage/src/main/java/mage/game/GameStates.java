@@ -31,6 +31,7 @@ package mage.game;
 import org.apache.log4j.Logger;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -44,17 +45,43 @@ public class GameStates implements Serializable {
 
 //    private final List<byte[]> states;
     private final List<GameState> states;
+    // index of the first state that was added or removed since the last takeChanges
+    private transient int firstChangedIndex;
 
     public GameStates() {
         this.states = new LinkedList<>();
     }
 
+    public GameStates(List<GameState> states) {
+        this.states = new LinkedList<>(states);
+    }
+
     public void save(GameState gameState) {
 //        states.add(new Copier<GameState>().copyCompressed(gameState));
         states.add(gameState.copy());
         logger.trace("Saved game state: " + states.size());
     }
 
+    public int getFirstChangedIndex() {
+        return firstChangedIndex;
+    }
+
+    /**
+     * Returns the states from {@link #getFirstChangedIndex()} to the end,
+     * the next call only returns the states that are changed after this one
+     *
+     * @return
+     */
+    public List<GameState> takeChanges() {
+        List<GameState> changes = new ArrayList<>(states.subList(firstChangedIndex, states.size()));
+        firstChangedIndex = states.size();
+        return changes;
+    }
+
+    public int getChangesCount() {
+        return states.size() - firstChangedIndex;
+    }
+
     public int getSize() {
         return states.size();
     }
@@ -64,6 +91,7 @@ public class GameStates implements Serializable {
             while (states.size() > index + 1) {
                 states.remove(states.size() - 1);
             }
+            firstChangedIndex = Math.min(firstChangedIndex, states.size());
             logger.trace("Rolling back state: " + index);
 //            return new Copier<GameState>().uncompressCopy(states.get(index));
             return states.get(index);
@@ -76,6 +104,7 @@ public class GameStates implements Serializable {
             while (states.size() > index && !states.isEmpty()) {
                 states.remove(states.size() - 1);
             }
+            firstChangedIndex = Math.min(firstChangedIndex, states.size());
         }
         return states.size();
     }
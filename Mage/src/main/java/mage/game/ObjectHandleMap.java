@@ -0,0 +1,80 @@
+package mage.game;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Map from object handles (see {@link ObjectHandles}) to values, backed by a
+ * plain array so that lookups don't hash and copies are a single array copy.
+ *
+ * @param <V>
+ */
+public class ObjectHandleMap<V> implements Serializable {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] values;
+
+    public ObjectHandleMap() {
+        this.values = EMPTY;
+    }
+
+    public ObjectHandleMap(final ObjectHandleMap<V> map) {
+        this.values = map.values.clone();
+    }
+
+    /**
+     * Copies the map, the values are copied with the given function
+     *
+     * @param map
+     * @param copier
+     */
+    public ObjectHandleMap(final ObjectHandleMap<V> map, UnaryOperator<V> copier) {
+        this.values = new Object[map.values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (map.values[i] != null) {
+                values[i] = copier.apply(map.get(i));
+            }
+        }
+    }
+
+    public ObjectHandleMap<V> copy() {
+        return new ObjectHandleMap<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int handle) {
+        if (handle < 0 || handle >= values.length) {
+            return null;
+        }
+        return (V) values[handle];
+    }
+
+    public void put(int handle, V value) {
+        if (handle >= values.length) {
+            values = Arrays.copyOf(values, Math.max(handle + 1, values.length * 2));
+        }
+        values[handle] = value;
+    }
+
+    public void remove(int handle) {
+        if (handle >= 0 && handle < values.length) {
+            values[handle] = null;
+        }
+    }
+
+    public void clear() {
+        values = EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+}
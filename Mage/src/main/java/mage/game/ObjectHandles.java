@@ -0,0 +1,95 @@
+package mage.game;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns compact int handles to the object ids of a game. The handles are
+ * used as array indexes for the per object state kept in {@link GameState}.
+ *
+ * An instance is shared by a game state and its copies, but only the state
+ * that created it assigns new handles. A copy that needs a new handle (e.g.
+ * for a token created in an AI simulation) forks the handles, see
+ * {@link #ObjectHandles(ObjectHandles)}, so the ids of copies don't grow
+ * the handles and arrays of the game they were copied from.
+ */
+public class ObjectHandles implements Serializable {
+
+    public static final int NO_HANDLE = -1;
+    // handle of the null id, the old UUID keyed maps accepted null keys
+    public static final int NULL_HANDLE = 0;
+
+    // handles below parentSize are looked up in the parent
+    private final ObjectHandles parent;
+    private final int parentSize;
+    private final Map<UUID, Integer> handles = new ConcurrentHashMap<>();
+    private final AtomicInteger nextHandle;
+
+    public ObjectHandles() {
+        this.parent = null;
+        this.parentSize = 0;
+        this.nextHandle = new AtomicInteger(NULL_HANDLE + 1);
+    }
+
+    /**
+     * Creates handles that keep all handles assigned by the given ones so far
+     * and assign new handles on their own. A fork of a fork refers to the
+     * same parent, so a lookup never checks more than two maps.
+     *
+     * @param handles
+     */
+    public ObjectHandles(final ObjectHandles handles) {
+        int size = handles.size();
+        if (handles.parent == null) {
+            this.parent = handles;
+            this.parentSize = size;
+        } else {
+            this.parent = handles.parent;
+            this.parentSize = handles.parentSize;
+            for (Map.Entry<UUID, Integer> entry : handles.handles.entrySet()) {
+                if (entry.getValue() < size) {
+                    this.handles.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        this.nextHandle = new AtomicInteger(size);
+    }
+
+    /**
+     * @param objectId
+     * @return the handle of the object or {@link #NO_HANDLE} if no handle was
+     * assigned yet
+     */
+    public int get(UUID objectId) {
+        if (objectId == null) {
+            return NULL_HANDLE;
+        }
+        if (parent != null) {
+            Integer handle = parent.handles.get(objectId);
+            if (handle != null && handle < parentSize) {
+                return handle;
+            }
+        }
+        Integer handle = handles.get(objectId);
+        return handle == null ? NO_HANDLE : handle;
+    }
+
+    /**
+     * @param objectId
+     * @return the handle of the object, a new one is assigned if needed
+     */
+    public int getOrCreate(UUID objectId) {
+        int handle = get(objectId);
+        if (handle == NO_HANDLE) {
+            handle = handles.computeIfAbsent(objectId, k -> nextHandle.getAndIncrement());
+        }
+        return handle;
+    }
+
+    public int size() {
+        return nextHandle.get();
+    }
+}
@@ -239,8 +239,20 @@ public abstract class DraftImpl implements Draft {
             if (player.getBooster().isEmpty()) {
                 return false;
             }
-            player.setPicking();
-            player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
+        }
+        // the human players get their boosters first, the computer players
+        // pick while the humans are choosing
+        for (DraftPlayer player : players.values()) {
+            if (player.getPlayer().isHuman()) {
+                player.setPicking();
+                player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
+            }
+        }
+        for (DraftPlayer player : players.values()) {
+            if (!player.getPlayer().isHuman()) {
+                player.setPicking();
+                player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
+            }
         }
         synchronized (this) {
             while (!donePicking()) {
@@ -56,7 +56,6 @@ public class RichManBoosterDraft extends DraftImpl {
                 fireUpdatePlayersEvent();
             }
         }
-        resetBufferedCards();
         this.fireEndDraftEvent();
     }
 
@@ -57,7 +57,6 @@ public class RichManCubeBoosterDraft extends DraftImpl {
                 fireUpdatePlayersEvent();
             }
         }
-        resetBufferedCards();
         this.fireEndDraftEvent();
     }
 
@@ -233,6 +233,16 @@ public abstract class PermanentImpl extends CardImpl implements Permanent {
         }
     }
 
+    @Override
+    public List<String> getRules() {
+        // a permanent gains its abilities with new ids on every applyEffects, so its text is not cached
+        try {
+            return abilities.getRules(this.getName());
+        } catch (Exception e) {
+            return rulesError;
+        }
+    }
+
     @Override
     public List<String> getRules(Game game) {
         try {
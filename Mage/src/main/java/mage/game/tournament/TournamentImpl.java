@@ -29,6 +29,11 @@ package mage.game.tournament;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import mage.cards.ExpansionSet;
 import mage.cards.decks.Deck;
 import mage.constants.TournamentPlayerState;
@@ -47,6 +52,8 @@ import mage.game.result.ResultProtos.TourneyRoundProto;
 import mage.players.Player;
 import mage.players.PlayerType;
 import mage.util.RandomUtil;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
 import org.apache.log4j.Logger;
 
 /**
@@ -55,6 +62,15 @@ import org.apache.log4j.Logger;
  */
 public abstract class TournamentImpl implements Tournament {
 
+    private static final Logger logger = Logger.getLogger(TournamentImpl.class);
+
+    // creates the boosters and the decks of the players of all tournaments
+    private static final ExecutorService setupExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+        Thread thread = new Thread(runnable, "TOURNAMENT SETUP");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     protected UUID id = UUID.randomUUID();
     protected List<Round> rounds = new CopyOnWriteArrayList<>();
     protected Map<UUID, TournamentPlayer> players = new HashMap<>();
@@ -73,6 +89,8 @@ public abstract class TournamentImpl implements Tournament {
     protected boolean abort;
     protected String tournamentState;
     protected Draft draft;
+    // start of the creation of the boosters and the AI decks, recorded as TOURNAMENT_SETUP
+    private long setupStart;
 
     public TournamentImpl(TournamentOptions options) {
         this.options = options;
@@ -245,7 +263,7 @@ public abstract class TournamentImpl implements Tournament {
                 //TODO: improve this
                 Thread.sleep(1000);
             } catch (InterruptedException ex) {
-                Logger.getLogger(TournamentImpl.class).warn("TournamentImpl playRound error ", ex);
+                logger.warn("TournamentImpl playRound error ", ex);
                 break;
             }
         }
@@ -391,12 +409,33 @@ public abstract class TournamentImpl implements Tournament {
     public void construct() {
         tableEventSource.fireTableEvent(EventType.CONSTRUCT);
         if (!isAbort()) {
+            if (setupStart == 0) {
+                // no boosters were opened (draft), only the AI decks are measured
+                setupStart = EngineMetrics.start();
+            }
+            final long start = setupStart;
+            final AtomicInteger computerDecks = new AtomicInteger();
+            for (TournamentPlayer player : players.values()) {
+                if (!player.getPlayer().isHuman()) {
+                    computerDecks.incrementAndGet();
+                }
+            }
+            if (computerDecks.get() == 0) {
+                EngineMetrics.getServerMetrics().stop(EngineMetric.TOURNAMENT_SETUP, start);
+            }
             for (final TournamentPlayer player : players.values()) {
 
                 player.setConstructing();
-                new Thread(
-                        () -> player.getPlayer().construct(TournamentImpl.this, player.getDeck())
-                ).start();
+                final boolean computer = !player.getPlayer().isHuman();
+                setupExecutor.execute(() -> {
+                    try {
+                        player.getPlayer().construct(TournamentImpl.this, player.getDeck());
+                    } finally {
+                        if (computer && computerDecks.decrementAndGet() == 0) {
+                            EngineMetrics.getServerMetrics().stop(EngineMetric.TOURNAMENT_SETUP, start);
+                        }
+                    }
+                });
             }
             // add autosubmit trigger
 
@@ -414,23 +453,53 @@ public abstract class TournamentImpl implements Tournament {
     }
 
     protected void openBoosters() {
+        setupStart = EngineMetrics.start();
+        long t1 = System.currentTimeMillis();
+        List<Future<?>> boosters = new ArrayList<>();
         for (TournamentPlayer player : this.players.values()) {
             player.setDeck(new Deck());
             if (options.getLimitedOptions().getDraftCube() != null) {
+                // every cube card is only used once, so the cube boosters are created one after another
                 DraftCube cube = options.getLimitedOptions().getDraftCube();
                 for (int i = 0; i < options.getLimitedOptions().getNumberBoosters(); i++) {
                     player.getDeck().getSideboard().addAll(cube.createBooster());
                 }
             } else {
-                for (ExpansionSet set : sets) {
-                    player.getDeck().getSideboard().addAll(set.createBooster());
-                }
+                boosters.add(setupExecutor.submit(() -> {
+                    for (ExpansionSet set : sets) {
+                        player.getDeck().getSideboard().addAll(set.createBooster());
+                    }
+                }));
             }
         }
-        resetBufferedCards();
+        try {
+            for (Future<?> booster : boosters) {
+                booster.get();
+            }
+        } catch (InterruptedException ex) {
+            cancel(boosters);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating boosters for tournament " + id, ex);
+        } catch (ExecutionException ex) {
+            // the tournament can't go on without the boosters of all players
+            cancel(boosters);
+            throw new IllegalStateException("Error creating boosters for tournament " + id, ex.getCause());
+        }
+        logger.debug("Tournament " + id + " - boosters for " + players.size() + " players created in " + (System.currentTimeMillis() - t1) + " ms");
         nextStep();
     }
 
+    private static void cancel(List<Future<?>> tasks) {
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Removes the booster cards the sets of the tournament keep in memory.
+     * They are kept across tournaments, the cards of a set don't change while
+     * the server runs.
+     */
     public void resetBufferedCards() {
         HashSet<ExpansionSet> setsDone = new HashSet<>();
         for (ExpansionSet set : sets) {
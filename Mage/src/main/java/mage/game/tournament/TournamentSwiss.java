@@ -35,8 +35,8 @@ import mage.constants.MultiplayerAttackOption;
 import mage.constants.TournamentPlayerState;
 import mage.game.events.TableEvent;
 import mage.game.tournament.pairing.RoundPairings;
+import mage.game.tournament.pairing.SwissPairingHistory;
 import mage.game.tournament.pairing.SwissPairingMinimalWeightMatching;
-import mage.game.tournament.pairing.SwissPairingSimple;
 
 /**
  *
@@ -44,6 +44,9 @@ import mage.game.tournament.pairing.SwissPairingSimple;
  */
 public abstract class TournamentSwiss extends TournamentImpl {
 
+    // matches of the finished rounds, updated before each pairing
+    protected final SwissPairingHistory pairingHistory = new SwissPairingHistory();
+
     public TournamentSwiss(TournamentOptions options) {
         super(options);
     }
@@ -81,13 +84,9 @@ public abstract class TournamentSwiss extends TournamentImpl {
         Round round = null;
         if (options.matchOptions.getNumSeats() == 2) {
             RoundPairings roundPairings;
-            if (roundPlayers.size() <= 16) {
-                SwissPairingMinimalWeightMatching swissPairing = new SwissPairingMinimalWeightMatching(roundPlayers, rounds, isLastRound);
-                roundPairings = swissPairing.getRoundPairings();
-            } else {
-                SwissPairingSimple swissPairing = new SwissPairingSimple(roundPlayers, rounds);
-                roundPairings = swissPairing.getRoundPairings();
-            }
+            pairingHistory.update(rounds);
+            SwissPairingMinimalWeightMatching swissPairing = new SwissPairingMinimalWeightMatching(roundPlayers, pairingHistory, isLastRound);
+            roundPairings = swissPairing.getRoundPairings();
 
             round = new Round(rounds.size() + 1, this);
             rounds.add(round);
@@ -118,13 +117,9 @@ public abstract class TournamentSwiss extends TournamentImpl {
         if (options.matchOptions.getNumSeats() > 2) {
             options.matchOptions.setAttackOption(MultiplayerAttackOption.MULTIPLE);
             RoundPairings roundPairings;
-            if (roundPlayers.size() <= 16) {
-                SwissPairingMinimalWeightMatching swissPairing = new SwissPairingMinimalWeightMatching(roundPlayers, rounds, isLastRound);
-                roundPairings = swissPairing.getRoundPairings();
-            } else {
-                SwissPairingSimple swissPairing = new SwissPairingSimple(roundPlayers, rounds);
-                roundPairings = swissPairing.getRoundPairings();
-            }
+            pairingHistory.update(rounds);
+            SwissPairingMinimalWeightMatching swissPairing = new SwissPairingMinimalWeightMatching(roundPlayers, pairingHistory, isLastRound);
+            roundPairings = swissPairing.getRoundPairings();
 
             round = new MultiplayerRound(rounds.size() + 1, this, options.matchOptions.getNumSeats());
             for (TournamentPairing pairing : roundPairings.getPairings()) {
@@ -0,0 +1,83 @@
+package mage.game.tournament.pairing;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import mage.game.tournament.Round;
+import mage.game.tournament.TournamentPairing;
+import mage.game.tournament.TournamentPlayer;
+
+/**
+ * Matches and byes of the previous rounds of a swiss tournament. The rounds
+ * are added only once, so the history doesn't have to be rebuilt from all
+ * rounds for every new round.
+ */
+public class SwissPairingHistory {
+
+    private final Map<TournamentPlayer, Map<TournamentPlayer, Integer>> duels = new HashMap<>();
+    private final Map<TournamentPlayer, Integer> byes = new HashMap<>();
+    private int roundsCount;
+
+    public SwissPairingHistory() {
+    }
+
+    public SwissPairingHistory(List<Round> rounds) {
+        update(rounds);
+    }
+
+    /**
+     * Adds the rounds that were not added yet, the rounds must be finished
+     * and always given in the same order
+     *
+     * @param rounds all rounds of the tournament
+     */
+    public void update(List<Round> rounds) {
+        for (int i = roundsCount; i < rounds.size(); i++) {
+            Round round = rounds.get(i);
+            for (TournamentPairing pairing : round.getPairs()) {
+                addDuel(pairing.getPlayer1(), pairing.getPlayer2());
+                addDuel(pairing.getPlayer2(), pairing.getPlayer1());
+            }
+            for (TournamentPlayer playerBye : round.getPlayerByes()) {
+                byes.merge(playerBye, 1, Integer::sum);
+            }
+        }
+        roundsCount = rounds.size();
+    }
+
+    private void addDuel(TournamentPlayer player, TournamentPlayer opponent) {
+        duels.computeIfAbsent(player, key -> new HashMap<>()).merge(opponent, 1, Integer::sum);
+    }
+
+    public int getDuels(TournamentPlayer player1, TournamentPlayer player2) {
+        Map<TournamentPlayer, Integer> opponents = duels.get(player1);
+        if (opponents == null) {
+            return 0;
+        }
+        return opponents.getOrDefault(player2, 0);
+    }
+
+    public int getByes(TournamentPlayer player) {
+        return byes.getOrDefault(player, 0);
+    }
+
+    /**
+     * Tie breaker points -- Sum of Opponents' Scores (SOS), see
+     * http://senseis.xmp.net/?SOS
+     *
+     * @param player
+     * @return current points of all opponents of the player, opponents that
+     * were met more than once are counted more than once
+     */
+    public int getSosPoints(TournamentPlayer player) {
+        Map<TournamentPlayer, Integer> opponents = duels.get(player);
+        if (opponents == null) {
+            return 0;
+        }
+        int sosPoints = 0;
+        for (Map.Entry<TournamentPlayer, Integer> opponent : opponents.entrySet()) {
+            sosPoints += opponent.getKey().getPoints() * opponent.getValue();
+        }
+        return sosPoints;
+    }
+}
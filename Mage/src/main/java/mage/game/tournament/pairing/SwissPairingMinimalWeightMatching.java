@@ -42,60 +42,56 @@ import java.util.*;
 // SwissPairingMinimalWeightMatching creates round pairings for swiss tournament.
 // It assigns weight to each possible pair and searches perfect matching with minimal weight
 // for more details see https://www.leaguevine.com/blog/18/swiss-tournament-scheduling-leaguevines-new-algorithm/
-// This implementation don't use fast minimum weight maximum matching algorithm,
-// it uses brute-force search, so it works reasonably fast only up to 16 players.
+// Up to 16 players all pairings are searched (branch and bound), so the matching is exact.
+// For more players the weights are only calculated for players with near ranks: the pairings are
+// created greedily in rank order and then improved by exchanging the opponents of two pairs.
 
 public class SwissPairingMinimalWeightMatching {
 
+    // up to this number of players the matching with minimal weight is searched exhaustively
+    private static final int MAX_EXACT_PLAYERS = 16;
+    // players that are more ranks apart are never paired by the greedy matching or exchanged
+    private static final int RANK_WINDOW = 32;
+    private static final int MAX_IMPROVE_PASSES = 20;
+    private static final int POINTS_DIFF_MULTIPLIER = 10;
+
     private final int playersCount;
 
     List<PlayerInfo> swissPlayers;
 
+    private final SwissPairingHistory history;
+
+    private final boolean isLastRound;
+
     // number of vertexes in graph
     private final int n;
 
-    // weight of pairings
-    private final int[][] w;
+    // first and last rank of the players with the same points as the player of a rank
+    private final int[] bracketFirst;
+    private final int[] bracketLast;
 
     public SwissPairingMinimalWeightMatching(List<TournamentPlayer> players, List<Round> rounds, boolean isLastRound) {
+        this(players, new SwissPairingHistory(rounds), isLastRound);
+    }
+
+    public SwissPairingMinimalWeightMatching(List<TournamentPlayer> players, SwissPairingHistory history, boolean isLastRound) {
         playersCount = players.size();
+        this.history = history;
+        this.isLastRound = isLastRound;
 
         swissPlayers = new ArrayList<>();
         for (TournamentPlayer tournamentPlayer : players) {
             PlayerInfo swissPlayer = new PlayerInfo();
             swissPlayer.tournamentPlayer = tournamentPlayer;
             swissPlayer.points = tournamentPlayer.getPoints();
+            // a player could have left the tournament, the points of his matches still count
+            swissPlayer.sosPoints = history.getSosPoints(tournamentPlayer);
+            swissPlayer.byes = history.getByes(tournamentPlayer);
             swissPlayers.add(swissPlayer);
         }
 
         // shuffle players first to add some randomness
         Collections.shuffle(swissPlayers);
-        Map<TournamentPlayer, Integer> map = new HashMap<>();
-        for (int i = 0; i < playersCount; i++) {
-            swissPlayers.get(i).id = i;
-            map.put(swissPlayers.get(i).tournamentPlayer, i);
-        }
-
-        // calculate Tie Breaker points -- Sum of Opponents' Scores (SOS)
-        // see http://senseis.xmp.net/?SOS
-        for (Round round : rounds) {
-            for (TournamentPairing pairing : round.getPairs()) {
-                TournamentPlayer player1 = pairing.getPlayer1();
-                TournamentPlayer player2 = pairing.getPlayer2();
-
-                Integer id1 = map.get(player1);
-                Integer id2 = map.get(player2);
-
-                // a player could have left the tournament, so we should check if id is not null
-                if (id1 != null) {
-                    swissPlayers.get(id1).sosPoints += player2.getPoints();
-                }
-                if (id2 != null) {
-                    swissPlayers.get(id2).sosPoints += player1.getPoints();
-                }
-                // todo: sos points for byes? maybe add player points?
-            }
-        }
 
         // sort by points and then by sos points
         swissPlayers.sort((p1, p2) -> {
@@ -106,114 +102,85 @@ public class SwissPairingMinimalWeightMatching {
             return p2.sosPoints - p1.sosPoints;
         });
 
-        // order could be changed, update ids and mapping
-        map.clear();
+        // order could be changed, update ids
         for (int i = 0; i < playersCount; i++) {
             swissPlayers.get(i).id = i;
-            map.put(swissPlayers.get(i).tournamentPlayer, i);
         }
 
-        // count ties and matches between players
-        int[][] duels = new int[playersCount][playersCount];
-        int[] byes = new int[playersCount];
-        for (Round round : rounds) {
-            for (TournamentPairing pairing : round.getPairs()) {
-                TournamentPlayer player1 = pairing.getPlayer1();
-                TournamentPlayer player2 = pairing.getPlayer2();
-
-                Integer id1 = map.get(player1);
-                Integer id2 = map.get(player2);
-
-                if (id1 != null && id2 != null) {
-                    duels[id1][id2]++;
-                    duels[id2][id1]++;
-                }
-            }
-            for (TournamentPlayer playerBye : round.getPlayerByes()) {
-                Integer id = map.get(playerBye);
-                if (id != null) {
-                    byes[id]++;
-                }
-            }
+        bracketFirst = new int[playersCount];
+        bracketLast = new int[playersCount];
+        for (int i = 0; i < playersCount; i++) {
+            bracketFirst[i] = i > 0 && swissPlayers.get(i - 1).points == swissPlayers.get(i).points ? bracketFirst[i - 1] : i;
+        }
+        for (int i = playersCount - 1; i >= 0; i--) {
+            bracketLast[i] = i < playersCount - 1 && swissPlayers.get(i + 1).points == swissPlayers.get(i).points ? bracketLast[i + 1] : i;
         }
 
         // set vertex count
         // add vertex for bye if we have odd number of players
         n = (playersCount % 2 == 1 ? playersCount + 1 : playersCount);
 
-        // calculate weight
-        // try to pair players with equal scores
-        w = new int[n][n];
-        int pointsDiffMultiplier = 10;
-        if (isLastRound) {
-            // for the last round, for each unpaired player starting with the first place, pair
-            // against the highest ranked player they haven't played against
-            for (int i = 0; i < playersCount; i++) {
-                for (int j = 0; j < i; j++) {
-                    w[i][j] = Math.abs(i - j) +
-                            pointsDiffMultiplier * Math.abs(swissPlayers.get(i).points - swissPlayers.get(j).points);
+        result = new int[n];
+        if (playersCount <= MAX_EXACT_PLAYERS) {
+            w = new int[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    w[i][j] = getWeight(i, j);
                     w[j][i] = w[i][j];
                 }
             }
+
+            // initialize variables for backtrack
+            used = new boolean[n];
+            pairs = new int[n];
+            Arrays.fill(pairs, -1);
+            weight = 0;
+            minCost = -1;
+            makePairings(0);
         } else {
-            for (int i = 0; i < playersCount; i++) {
-                PlayerInfo player = swissPlayers.get(i);
-                for (int p = player.points; p >= 0; p--) {
-                    int first = -1;
-                    int last = -1;
-                    for (int j = 0; j < playersCount; j++) {
-                        if (swissPlayers.get(j).points == p) {
-                            if (first < 0) {
-                                first = j;
-                            }
-                            last = j;
-                        }
-                    }
-                    if (first < 0) {
-                        continue;
-                    }
-                    int self = (p == player.points ? i : first - 1);
-                    int diff = pointsDiffMultiplier * (player.points - p);
-                    for (int j = Math.max(first, i); j <= last; j++) {
-                        w[i][j] = Math.abs(j - (last + first - self)) + diff;
-                        w[j][i] = w[i][j];
-                    }
-                }
-            }
+            makePairingsByRank();
         }
+    }
 
-        // avoid pairing players that have played each other already
-        for (int i = 0; i < playersCount; i++) {
-            for (int j = 0; j < i; j++) {
-                w[i][j] += duels[i][j] * 500;
-                w[j][i] = w[i][j];
-            }
+    /**
+     * Weight of pairing the players with the ranks i and j (i < j), the
+     * vertex n - 1 is the bye if the number of players is odd
+     *
+     * @param i
+     * @param j
+     * @return
+     */
+    private int getWeight(int i, int j) {
+        int weight;
+        PlayerInfo player = swissPlayers.get(i);
+        if (j >= playersCount) {
+            // try to give bye to a player with a low score
+            // try to avoid giving the same person multiple byes
+            weight = 10 * (player.points - swissPlayers.get(playersCount - 1).points) + (playersCount - i - 1);
+            weight += player.byes * 2000;
+            return weight * weight;
         }
-
-        // try to give bye to a player with a low score
-        // try to avoid giving the same person multiple byes
-        if (n > playersCount) {
-            for (int i = 0; i < playersCount; i++) {
-                w[i][n - 1] = 10 * (swissPlayers.get(i).points - swissPlayers.get(playersCount - 1).points) + (playersCount - i - 1);
-                w[i][n - 1] += byes[i] * 2000;
-                w[n - 1][i] = w[i][n - 1];
-            }
+        PlayerInfo opponent = swissPlayers.get(j);
+        // try to pair players with equal scores
+        if (isLastRound) {
+            // for the last round, for each unpaired player starting with the first place, pair
+            // against the highest ranked player they haven't played against
+            weight = Math.abs(i - j) + POINTS_DIFF_MULTIPLIER * Math.abs(player.points - opponent.points);
+        } else {
+            // pair the top half of a score group against its bottom half
+            int first = bracketFirst[j];
+            int last = bracketLast[j];
+            int self = (opponent.points == player.points ? i : first - 1);
+            weight = Math.abs(j - (last + first - self)) + POINTS_DIFF_MULTIPLIER * (player.points - opponent.points);
         }
 
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                w[i][j] *= w[i][j];
-            }
-        }
+        // avoid pairing players that have played each other already
+        weight += history.getDuels(player.tournamentPlayer, opponent.tournamentPlayer) * 500;
+        return weight * weight;
+    }
 
-        // initialize variables for backtrack
-        used = new boolean[n];
-        pairs = new int[n];
-        Arrays.fill(pairs, -1);
-        result = new int[n];
-        weight = 0;
-        minCost = -1;
-        makePairings(0);
+    private int getPairWeight(int i, int j) {
+        return i < j ? getWeight(i, j) : getWeight(j, i);
     }
 
     public RoundPairings getRoundPairings() {
@@ -244,6 +211,9 @@ public class SwissPairingMinimalWeightMatching {
         return new RoundPairings(pairings, playerByes);
     }
 
+    // weight of pairings, only used for the exact search
+    private int[][] w;
+
     boolean[] used;
 
     // current pairs
@@ -256,11 +226,13 @@ public class SwissPairingMinimalWeightMatching {
 
     // backtrack all possible pairings and choose one with minimal weight
     private void makePairings(int t) {
+        if (minCost >= 0 && weight >= minCost) {
+            // weights are not negative, this can't get better
+            return;
+        }
         if (t >= n) {
-            if (minCost < 0 || minCost > weight) {
-                minCost = weight;
-                System.arraycopy(pairs, 0, result, 0, n);
-            }
+            minCost = weight;
+            System.arraycopy(pairs, 0, result, 0, n);
             return;
         }
 
@@ -287,6 +259,82 @@ public class SwissPairingMinimalWeightMatching {
         }
     }
 
+    // pairs each player with the best of the next unpaired players and improves the pairings
+    // by exchanging the opponents of two pairs as long as the total weight gets lower
+    private void makePairingsByRank() {
+        Arrays.fill(result, -1);
+        if (n > playersCount) {
+            int bye = 0;
+            int byeWeight = Integer.MAX_VALUE;
+            for (int i = 0; i < playersCount; i++) {
+                int byeWeightI = getWeight(i, n - 1);
+                if (byeWeightI <= byeWeight) {
+                    byeWeight = byeWeightI;
+                    bye = i;
+                }
+            }
+            result[bye] = n - 1;
+            result[n - 1] = bye;
+        }
+
+        for (int i = 0; i < playersCount; i++) {
+            if (result[i] >= 0) {
+                continue;
+            }
+            int best = -1;
+            int bestWeight = Integer.MAX_VALUE;
+            int candidates = 0;
+            for (int j = i + 1; j < playersCount && candidates < RANK_WINDOW; j++) {
+                if (result[j] < 0) {
+                    candidates++;
+                    int pairWeight = getWeight(i, j);
+                    if (pairWeight < bestWeight) {
+                        bestWeight = pairWeight;
+                        best = j;
+                    }
+                }
+            }
+            result[i] = best;
+            result[best] = i;
+        }
+
+        for (int pass = 0; pass < MAX_IMPROVE_PASSES; pass++) {
+            boolean improved = false;
+            for (int a = 0; a < playersCount; a++) {
+                int b = result[a];
+                if (b >= playersCount) {
+                    continue;
+                }
+                for (int c = Math.max(0, a - RANK_WINDOW); c <= Math.min(playersCount - 1, a + RANK_WINDOW); c++) {
+                    int d = result[c];
+                    if (c == a || c == b || d >= playersCount) {
+                        continue;
+                    }
+                    int current = getPairWeight(a, b) + getPairWeight(c, d);
+                    if (getPairWeight(a, c) + getPairWeight(b, d) < current) {
+                        setPair(a, c);
+                        setPair(b, d);
+                    } else if (getPairWeight(a, d) + getPairWeight(b, c) < current) {
+                        setPair(a, d);
+                        setPair(b, c);
+                    } else {
+                        continue;
+                    }
+                    b = result[a];
+                    improved = true;
+                }
+            }
+            if (!improved) {
+                break;
+            }
+        }
+    }
+
+    private void setPair(int i, int j) {
+        result[i] = j;
+        result[j] = i;
+    }
+
     static class PlayerInfo {
         public int id;
 
@@ -295,6 +343,7 @@ public class SwissPairingMinimalWeightMatching {
         public int points;
 
         public int sosPoints;
+
+        public int byes;
     }
 }
-
@@ -93,6 +93,8 @@ import mage.target.common.TargetCardInLibrary;
 import mage.target.common.TargetDiscard;
 import mage.util.CardUtil;
 import mage.util.GameLog;
+import mage.util.metrics.EngineMetric;
+import mage.util.metrics.EngineMetrics;
 import mage.util.RandomUtil;
 import org.apache.log4j.Logger;
 
@@ -2639,6 +2641,7 @@ public abstract class PlayerImpl implements Player, Serializable {
 
     @Override
     public List<Ability> getPlayable(Game game, boolean hidden) {
+        long start = EngineMetrics.start();
         List<Ability> playable = new ArrayList<>();
 
         if (!shouldSkipGettingPlayable(game)) {
@@ -2768,6 +2771,7 @@ public abstract class PlayerImpl implements Player, Serializable {
             playable.addAll(playableActivated.values());
         }
 
+        game.getMetrics().stop(EngineMetric.GET_PLAYABLE, start);
         return playable;
     }
 
@@ -0,0 +1,170 @@
+package mage.players.ai;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares the CPU of the server between the searches of all AI players.
+ *
+ * Every search asks for a budget before it starts. If more search threads
+ * are running than the AI may use, the think time and the node limit of the
+ * new search are scaled down; if the AI threads are idle they are scaled up.
+ * A high system load (e.g. from human games) also scales the searches down.
+ *
+ * The number of threads is set by the server (aiCpuThreads in config.xml) or
+ * with the system property xmage.ai.cpuThreads, 0 (default) disables the
+ * scaling. It's part of the framework, so the AI plugins and the server can
+ * both use it.
+ */
+public enum AiGovernor {
+    instance;
+
+    private static final double MIN_SCALE = 0.25;
+    private static final double MAX_SCALE = 1.5;
+    private static final int MIN_THINK_MILLIS = 500;
+
+    private volatile int cpuThreads = Math.max(0, Integer.getInteger("xmage.ai.cpuThreads", 0));
+
+    private final AtomicInteger activeSearches = new AtomicInteger();
+    private final AtomicInteger activeThreads = new AtomicInteger();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchThreadNanos = new LongAdder();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    public void setCpuThreads(int cpuThreads) {
+        this.cpuThreads = Math.max(0, cpuThreads);
+    }
+
+    public int getCpuThreads() {
+        return cpuThreads;
+    }
+
+    public boolean isEnabled() {
+        return cpuThreads > 0;
+    }
+
+    /**
+     * Reserves the threads of a search and calculates its limits, every
+     * budget must be given back by {@link #finishSearch(Budget)}
+     *
+     * @param wantedThreads threads the search would like to use
+     * @param thinkMillis think time of the search without load
+     * @param maxNodes node limit of the search without load, 0 if the search
+     * has no node limit
+     * @return
+     */
+    public Budget startSearch(int wantedThreads, long thinkMillis, int maxNodes) {
+        int threads = Math.max(1, wantedThreads);
+        double scale = 1.0;
+        int limit = cpuThreads;
+        if (limit > 0) {
+            int busy = activeThreads.get();
+            threads = Math.max(1, Math.min(threads, limit - busy));
+            scale = getScale(limit, busy + threads);
+            thinkMillis = Math.max(Math.min(thinkMillis, MIN_THINK_MILLIS), Math.round(thinkMillis * scale));
+            maxNodes = maxNodes > 0 ? Math.max(1, (int) Math.round(maxNodes * scale)) : maxNodes;
+        }
+        activeSearches.incrementAndGet();
+        activeThreads.addAndGet(threads);
+        return new Budget(threads, thinkMillis, maxNodes, scale);
+    }
+
+    public void finishSearch(Budget budget) {
+        activeSearches.decrementAndGet();
+        activeThreads.addAndGet(-budget.threads);
+        searches.increment();
+        searchThreadNanos.add((System.nanoTime() - budget.startTime) * budget.threads);
+    }
+
+    private double getScale(int limit, int demand) {
+        double scale = limit / (double) demand;
+        double load = getSystemLoad();
+        if (load > 1.0) {
+            // the machine is overloaded, never think longer than without load
+            scale = Math.min(scale, 1.0) / load;
+        } else if (load > 0.75) {
+            scale = Math.min(scale, 1.0);
+        }
+        return Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+    }
+
+    /**
+     * @return system load per processor, 0 if not available
+     */
+    private double getSystemLoad() {
+        double load = os.getSystemLoadAverage();
+        if (load < 0) {
+            return 0;
+        }
+        return load / os.getAvailableProcessors();
+    }
+
+    /**
+     * @return scale a search would get if it started now with one thread
+     */
+    public double getCurrentScale() {
+        int limit = cpuThreads;
+        if (limit <= 0) {
+            return 1.0;
+        }
+        return getScale(limit, activeThreads.get() + 1);
+    }
+
+    public int getActiveSearches() {
+        return activeSearches.get();
+    }
+
+    public int getActiveThreads() {
+        return activeThreads.get();
+    }
+
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /**
+     * @return time used by all finished searches, multiplied by their number
+     * of threads
+     */
+    public long getSearchThreadMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(searchThreadNanos.sum());
+    }
+
+    /**
+     * Limits of one AI search
+     */
+    public static final class Budget {
+
+        private final int threads;
+        private final long thinkMillis;
+        private final int maxNodes;
+        private final double scale;
+        private final long startTime = System.nanoTime();
+
+        Budget(int threads, long thinkMillis, int maxNodes, double scale) {
+            this.threads = threads;
+            this.thinkMillis = thinkMillis;
+            this.maxNodes = maxNodes;
+            this.scale = scale;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public long getThinkMillis() {
+            return thinkMillis;
+        }
+
+        public int getMaxNodes() {
+            return maxNodes;
+        }
+
+        public double getScale() {
+            return scale;
+        }
+    }
+}
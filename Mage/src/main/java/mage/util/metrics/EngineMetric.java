@@ -0,0 +1,26 @@
+package mage.util.metrics;
+
+/**
+ * The engine operations whose time is recorded by {@link EngineMetrics}.
+ */
+public enum EngineMetric {
+    APPLY_EFFECTS("ApplyEffects"),
+    CHECK_STATE_AND_TRIGGERED("CheckStateAndTriggered"),
+    GET_PLAYABLE("GetPlayable"),
+    GAME_COPY("GameCopy"),
+    GAME_VIEW("GameView"),
+    SERIALIZATION("Serialization"),
+    AI_SEARCH("AiSearch"),
+    TOURNAMENT_SETUP("TournamentSetup");
+
+    private final String text;
+
+    EngineMetric(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
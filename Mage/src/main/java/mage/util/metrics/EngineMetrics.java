@@ -0,0 +1,85 @@
+package mage.util.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Time spent in the engine hot paths. There is one instance per game (shared
+ * with all copies of the game, so AI simulations are included) and the server
+ * wide instance that sums up all games.
+ *
+ * Usage:
+ * <pre>
+ * long start = EngineMetrics.start();
+ * ...
+ * game.getMetrics().stop(EngineMetric.APPLY_EFFECTS, start);
+ * </pre>
+ */
+public class EngineMetrics {
+
+    private static final EngineMetrics serverMetrics = new EngineMetrics(null);
+    private static volatile boolean enabled = true;
+
+    private final EngineMetrics parent;
+    private final Map<EngineMetric, MetricTimer> timers = new EnumMap<>(EngineMetric.class);
+
+    private EngineMetrics(EngineMetrics parent) {
+        this.parent = parent;
+        for (EngineMetric metric : EngineMetric.values()) {
+            timers.put(metric, new MetricTimer());
+        }
+    }
+
+    public static EngineMetrics getServerMetrics() {
+        return serverMetrics;
+    }
+
+    public static EngineMetrics createGameMetrics() {
+        return new EngineMetrics(serverMetrics);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        EngineMetrics.enabled = enabled;
+    }
+
+    /**
+     * @return start time of a measurement or 0 if the metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since the given start, does nothing if the measurement
+     * was started while the metrics were disabled
+     *
+     * @param metric
+     * @param start value returned from {@link #start()}
+     */
+    public void stop(EngineMetric metric, long start) {
+        if (start != 0) {
+            record(metric, System.nanoTime() - start);
+        }
+    }
+
+    public void record(EngineMetric metric, long nanos) {
+        timers.get(metric).add(nanos);
+        if (parent != null) {
+            parent.record(metric, nanos);
+        }
+    }
+
+    public MetricTimer getTimer(EngineMetric metric) {
+        return timers.get(metric);
+    }
+
+    public void reset() {
+        for (MetricTimer timer : timers.values()) {
+            timer.reset();
+        }
+    }
+}
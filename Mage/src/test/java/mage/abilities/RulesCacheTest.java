@@ -0,0 +1,79 @@
+package mage.abilities;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import mage.abilities.costs.mana.ManaCostsImpl;
+import mage.abilities.keyword.CyclingAbility;
+import mage.abilities.keyword.FlyingAbility;
+import mage.abilities.keyword.HasteAbility;
+
+/**
+ * Custom unit tests for {@link RulesCache}
+ */
+public class RulesCacheTest {
+
+    private RulesCache cache;
+    private Abilities<Ability> abilities;
+
+    @Before
+    public void setUp() {
+        cache = new RulesCache();
+        abilities = new AbilitiesImpl<>();
+        abilities.add(FlyingAbility.getInstance());
+    }
+
+    @Test
+    public void shouldReturnSameRulesAsAbilities() {
+        // when
+        List<String> rules = cache.getRules(abilities, "Test");
+
+        // then
+        assertEquals(abilities.getRules("Test"), rules);
+        assertEquals(rules, cache.getRules(abilities, "Test"));
+    }
+
+    @Test
+    public void shouldUpdateRulesWhenAbilitiesChange() {
+        // given
+        cache.getRules(abilities, "Test");
+
+        // when
+        abilities.add(HasteAbility.getInstance());
+        List<String> gained = cache.getRules(abilities, "Test");
+        abilities.remove(0);
+        List<String> lost = cache.getRules(abilities, "Test");
+
+        // then
+        assertEquals(2, gained.size());
+        assertEquals(abilities.getRules("Test"), lost);
+    }
+
+    @Test
+    public void shouldUpdateRulesWhenVisibilityChanges() {
+        // given
+        Ability cycling = new CyclingAbility(new ManaCostsImpl<>("{2}"));
+        abilities.add(cycling);
+        assertEquals(2, cache.getRules(abilities, "Test").size());
+
+        // when
+        cycling.setRuleVisible(false);
+
+        // then
+        assertEquals(1, cache.getRules(abilities, "Test").size());
+    }
+
+    @Test
+    public void shouldNotChangeCachedRules() {
+        // given
+        List<String> rules = cache.getRules(abilities, "Test");
+
+        // when
+        rules.add("Chosen color: red");
+
+        // then
+        assertEquals(1, cache.getRules(abilities, "Test").size());
+    }
+}
@@ -0,0 +1,91 @@
+package mage.cards.repository;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import mage.constants.CardType;
+import mage.constants.SuperType;
+
+/**
+ * Custom unit tests for {@link CardSearchIndex}
+ */
+public class CardSearchIndexTest {
+
+    private CardSearchIndex index;
+
+    @Before
+    public void setUp() {
+        List<CardInfo> cards = new ArrayList<>();
+        cards.add(new TestCardInfo("Llanowar Elves", "M19", EnumSet.of(CardType.CREATURE), Arrays.asList("Elf", "Druid"),
+                EnumSet.noneOf(SuperType.class), Collections.singletonList("{T}: Add {G}."), false, true, false));
+        cards.add(new TestCardInfo("Shock", "M19", EnumSet.of(CardType.INSTANT), Collections.emptyList(),
+                EnumSet.noneOf(SuperType.class), Collections.singletonList("Shock deals 2 damage to any target."), false, false, true));
+        cards.add(new TestCardInfo("Karn, Scion of Urza", "DOM", EnumSet.of(CardType.PLANESWALKER), Collections.singletonList("Karn"),
+                EnumSet.of(SuperType.LEGENDARY), Collections.singletonList("-2: Create a 0/0 colorless Construct artifact creature token."), false, false, false));
+        cards.add(new TestCardInfo("Shivan Fire", "DOM", EnumSet.of(CardType.INSTANT), Collections.emptyList(),
+                EnumSet.noneOf(SuperType.class), Collections.singletonList("Shivan Fire deals 2 damage to target creature."), false, false, true));
+        index = new CardSearchIndex(cards);
+    }
+
+    @Test
+    public void shouldFindAllCardsWithoutFilter() {
+        assertEquals(4, find(new CardCriteria(), "").size());
+    }
+
+    @Test
+    public void shouldFilterByColorsTypesAndSets() {
+        assertEquals(Arrays.asList("Shock", "Shivan Fire"), find(new CardCriteria().black(false).blue(false)
+                .green(false).white(false).colorless(false), ""));
+        assertEquals(Collections.singletonList("Karn, Scion of Urza"), find(new CardCriteria().black(false).blue(false)
+                .green(false).red(false).white(false), ""));
+        assertEquals(Arrays.asList("Shock", "Shivan Fire"), find(new CardCriteria().types(CardType.INSTANT), ""));
+        assertEquals(Collections.singletonList("Shivan Fire"), find(new CardCriteria().types(CardType.INSTANT).setCodes("DOM"), ""));
+    }
+
+    @Test
+    public void shouldFindTextInNamesRulesAndTypes() {
+        // whole text in the name
+        assertEquals(Collections.singletonList("Karn, Scion of Urza"), find(new CardCriteria(), "scion of"));
+        // every word in rules or types
+        assertEquals(Arrays.asList("Shock", "Shivan Fire"), find(new CardCriteria(), "2 damage"));
+        assertEquals(Collections.singletonList("Shivan Fire"), find(new CardCriteria(), "damage creature"));
+        assertEquals(Collections.singletonList("Llanowar Elves"), find(new CardCriteria(), "elf {g}"));
+        assertEquals(Collections.singletonList("Karn, Scion of Urza"), find(new CardCriteria(), "legendary"));
+        // parts of words
+        assertEquals(Arrays.asList("Shock", "Shivan Fire"), find(new CardCriteria(), "dam"));
+    }
+
+    @Test
+    public void shouldSearchOnlySelectedTexts() {
+        assertEquals(0, index.find(new CardCriteria(), "elf", true, false, true).size());
+        assertEquals(0, index.find(new CardCriteria(), "shock", false, true, false).size());
+        assertEquals(1, index.find(new CardCriteria(), "shock", true, false, false).size());
+    }
+
+    private List<String> find(CardCriteria criteria, String text) {
+        return index.find(criteria, text, true, true, true).stream().map(CardInfo::getName).collect(Collectors.toList());
+    }
+
+    private static class TestCardInfo extends CardInfo {
+
+        TestCardInfo(String name, String setCode, EnumSet<CardType> types, List<String> subtypes, EnumSet<SuperType> supertypes,
+                List<String> rules, boolean black, boolean green, boolean red) {
+            this.name = name;
+            this.setCode = setCode;
+            this.black = black;
+            this.green = green;
+            this.red = red;
+            setTypes(types);
+            setSubtypes(subtypes);
+            setSuperTypes(supertypes);
+            setRules(rules);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package mage.filter.predicate;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import mage.MageObject;
+import mage.constants.CardType;
+import mage.filter.predicate.mageobject.CardTypePredicate;
+import mage.game.Game;
+import mage.game.permanent.token.EmptyToken;
+
+/**
+ * Custom unit tests for {@link Predicates}
+ */
+public class PredicatesTest {
+
+    private static class CountingPredicate implements Predicate<MageObject> {
+
+        private int calls;
+
+        @Override
+        public boolean apply(MageObject input, Game game) {
+            calls++;
+            return true;
+        }
+    }
+
+    @Test
+    public void shouldEvaluateCheapPredicatesFirst() {
+        // given
+        EmptyToken token = new EmptyToken();
+        token.getCardType().add(CardType.ARTIFACT);
+        CountingPredicate expensive = new CountingPredicate();
+        List<Predicate<? super MageObject>> components = new ArrayList<>();
+        components.add(expensive);
+        components.add(new CardTypePredicate(CardType.CREATURE));
+
+        // when
+        boolean result = Predicates.<MageObject>compile(components).apply(token, null);
+
+        // then
+        assertFalse(result);
+        assertEquals(0, expensive.calls);
+    }
+
+    @Test
+    public void shouldMatchLikeAnd() {
+        // given
+        EmptyToken token = new EmptyToken();
+        token.getCardType().add(CardType.CREATURE);
+        CountingPredicate expensive = new CountingPredicate();
+        List<Predicate<? super MageObject>> components = new ArrayList<>();
+        components.add(expensive);
+        components.add(new CardTypePredicate(CardType.CREATURE));
+
+        // when
+        boolean compiled = Predicates.<MageObject>compile(components).apply(token, null);
+        boolean and = Predicates.<MageObject>and(components).apply(token, null);
+
+        // then
+        assertTrue(compiled);
+        assertEquals(and, compiled);
+        assertEquals(2, expensive.calls);
+    }
+
+    @Test
+    public void shouldMatchEverythingWithoutComponents() {
+        // when
+        boolean result = Predicates.<MageObject>compile(new ArrayList<Predicate<MageObject>>()).apply(new EmptyToken(), null);
+
+        // then
+        assertTrue(result);
+    }
+}
@@ -0,0 +1,103 @@
+package mage.game;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import mage.constants.Zone;
+
+/**
+ * Custom unit tests for {@link ObjectHandles} and {@link ObjectHandleMap}
+ */
+public class ObjectHandleMapTest {
+
+    private ObjectHandles handles;
+    private ObjectHandleMap<Zone> zones;
+
+    @Before
+    public void setUp() {
+        handles = new ObjectHandles();
+        zones = new ObjectHandleMap<>();
+    }
+
+    @Test
+    public void shouldAssignStableHandles() {
+        // given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // when
+        int firstHandle = handles.getOrCreate(first);
+        int secondHandle = handles.getOrCreate(second);
+
+        // then
+        assertNotEquals(firstHandle, secondHandle);
+        assertEquals(firstHandle, handles.getOrCreate(first));
+        assertEquals(secondHandle, handles.get(second));
+        assertEquals(ObjectHandles.NO_HANDLE, handles.get(UUID.randomUUID()));
+        assertEquals(ObjectHandles.NULL_HANDLE, handles.get(null));
+        assertEquals(ObjectHandles.NULL_HANDLE, handles.getOrCreate(null));
+    }
+
+    @Test
+    public void shouldNotGrowForkedHandles() {
+        // given
+        UUID first = UUID.randomUUID();
+        int firstHandle = handles.getOrCreate(first);
+        ObjectHandles fork = new ObjectHandles(handles);
+
+        // when
+        UUID forkOnly = UUID.randomUUID();
+        UUID gameOnly = UUID.randomUUID();
+        int forkHandle = fork.getOrCreate(forkOnly);
+        int gameHandle = handles.getOrCreate(gameOnly);
+        ObjectHandles forkOfFork = new ObjectHandles(fork);
+
+        // then
+        assertEquals(firstHandle, fork.get(first));
+        assertEquals(ObjectHandles.NO_HANDLE, handles.get(forkOnly));
+        assertEquals(ObjectHandles.NO_HANDLE, fork.get(gameOnly));
+        assertEquals(forkHandle, gameHandle);
+        assertEquals(forkHandle, forkOfFork.get(forkOnly));
+        assertEquals(firstHandle, forkOfFork.get(first));
+        assertEquals(ObjectHandles.NO_HANDLE, forkOfFork.get(gameOnly));
+        assertNotEquals(forkHandle, forkOfFork.getOrCreate(UUID.randomUUID()));
+    }
+
+    @Test
+    public void shouldReturnNullForUnknownHandle() {
+        // then
+        assertNull(zones.get(ObjectHandles.NO_HANDLE));
+        assertNull(zones.get(100));
+    }
+
+    @Test
+    public void shouldNotShareValuesWithCopy() {
+        // given
+        int handle = handles.getOrCreate(UUID.randomUUID());
+        zones.put(handle, Zone.HAND);
+
+        // when
+        ObjectHandleMap<Zone> copy = zones.copy();
+        copy.put(handle, Zone.GRAVEYARD);
+        copy.put(handles.getOrCreate(UUID.randomUUID()), Zone.EXILED);
+
+        // then
+        assertEquals(Zone.HAND, zones.get(handle));
+        assertEquals(Zone.GRAVEYARD, copy.get(handle));
+    }
+
+    @Test
+    public void shouldRemoveValues() {
+        // given
+        int handle = handles.getOrCreate(UUID.randomUUID());
+        zones.put(handle, Zone.BATTLEFIELD);
+
+        // when
+        zones.remove(handle);
+
+        // then
+        assertNull(zones.get(handle));
+    }
+}